@@ -0,0 +1,51 @@
+package com.uca.parcialfinalncapas.benchmark;
+
+import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de emitir un token y de leerlo, con y sin la caché de tokens verificados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(10_000, Duration.ofMinutes(10));
+        uncachedJwtUtil = new JwtUtil(0, Duration.ofMinutes(10));
+        userDetails = new User("usuario@uca.edu.sv", "secreto", List.of(new SimpleGrantedAuthority("USER")));
+        token = cachedJwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return cachedJwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncachedJwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,68 @@
+package com.uca.parcialfinalncapas.benchmark;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.dto.response.UserResponse;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import com.uca.parcialfinalncapas.utils.mappers.TicketMapper;
+import com.uca.parcialfinalncapas.utils.mappers.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de convertir una página de entidades a DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private List<Ticket> tickets;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        tickets = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            tickets.add(Ticket.builder()
+                    .id(i)
+                    .titulo("Ticket " + i)
+                    .descripcion("La impresora del laboratorio " + i + " no imprime")
+                    .estado(State.OPEN.getDescription())
+                    .usuarioId(i)
+                    .tecnicoAsignadoId(i + 1)
+                    .fecha(LocalDateTime.now())
+                    .build());
+            users.add(User.builder()
+                    .id(i)
+                    .nombre("Usuario " + i)
+                    .correo("usuario" + i + "@uca.edu.sv")
+                    .password("secreto")
+                    .nombreRol(Rol.USER.getValue())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<TicketResponseList> ticketToDTOList() {
+        return TicketMapper.toDTOList(tickets);
+    }
+
+    @Benchmark
+    public List<UserResponse> userToDTOList() {
+        return UserMapper.toDTOList(users);
+    }
+}
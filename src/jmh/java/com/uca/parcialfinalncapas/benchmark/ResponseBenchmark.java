@@ -0,0 +1,141 @@
+package com.uca.parcialfinalncapas.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.uca.parcialfinalncapas.dto.response.GeneralResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.utils.ResponseBuilderUtil;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de armar la respuesta general y de serializarla con Jackson,
+ * con la misma configuración de fechas que usa Spring Boot.
+ * buildResponseLegacy reproduce el armado anterior (URL reconstruida y LocalDate.now() por llamada) como referencia;
+ * las variantes typed usan un ObjectWriter por tipo, como el que arma Spring a partir del tipo de retorno genérico.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class ResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+    private ObjectWriter blackbirdWriter;
+    private ObjectWriter cborWriter;
+    private ObjectWriter smileWriter;
+    private TicketPageResponse page;
+    private GeneralResponse<TicketPageResponse> response;
+
+    @Setup
+    public void setUp() {
+        // RequestContextHolder es por hilo, por eso el estado es Scope.Thread
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        TypeReference<GeneralResponse<TicketPageResponse>> type = new TypeReference<>() {
+        };
+        typedWriter = objectMapper.writerFor(type);
+        blackbirdWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build()
+                .writerFor(type);
+        cborWriter = Jackson2ObjectMapperBuilder.json()
+                .factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(type);
+        smileWriter = Jackson2ObjectMapperBuilder.json()
+                .factory(new SmileFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(type);
+
+        List<TicketResponseList> tickets = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            tickets.add(TicketResponseList.builder()
+                    .idTicket(i)
+                    .titulo("Ticket " + i)
+                    .descripcion("La impresora del laboratorio " + i + " no imprime")
+                    .estado(State.OPEN.getDescription())
+                    .fecha("2025-06-01T10:15:30")
+                    .solicitanteId(i)
+                    .soporteId(i + 1)
+                    .build());
+        }
+        page = TicketPageResponse.builder().tickets(tickets).size(tickets.size()).nextCursor("NTA").build();
+        response = ResponseBuilderUtil.buildResponse("Tickets obtenidos correctamente", HttpStatus.OK, page).getBody();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public ResponseEntity<GeneralResponse<Object>> buildResponseLegacy() {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath();
+        return ResponseEntity.status(HttpStatus.OK).body(GeneralResponse.builder()
+                .message("Tickets obtenidos correctamente")
+                .status(HttpStatus.OK.value())
+                .data(page)
+                .uri(uri)
+                .time(LocalDate.now())
+                .build());
+    }
+
+    @Benchmark
+    public ResponseEntity<GeneralResponse<TicketPageResponse>> buildResponse() {
+        return ResponseBuilderUtil.buildResponse("Tickets obtenidos correctamente", HttpStatus.OK, page);
+    }
+
+    @Benchmark
+    public byte[] serializeGeneralResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeTyped() throws Exception {
+        return typedWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeTypedBlackbird() throws Exception {
+        return blackbirdWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws Exception {
+        return cborWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeSmile() throws Exception {
+        return smileWriter.writeValueAsBytes(response);
+    }
+}
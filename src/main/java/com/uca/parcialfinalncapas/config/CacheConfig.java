@@ -0,0 +1,15 @@
+package com.uca.parcialfinalncapas.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita la caché de usuarios. El tamaño y el tiempo de vida se configuran
+ * con spring.cache.caffeine.spec en application.yml.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_BY_CORREO = "usersByCorreo";
+    public static final String USERS_BY_ID = "usersById";
+}
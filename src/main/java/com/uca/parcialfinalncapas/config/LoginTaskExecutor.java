@@ -0,0 +1,50 @@
+package com.uca.parcialfinalncapas.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado para verificar contraseñas con BCrypt fuera de los hilos de Tomcat.
+ * Cuando la cola se llena las tareas se rechazan con RejectedExecutionException y el login responde 429.
+ * No se expone como bean Executor para no reemplazar el applicationTaskExecutor de Spring Boot.
+ * Usa hilos de plataforma aun con spring.threads.virtual.enabled: el trabajo es de CPU y el
+ * tamaño del pool es justamente lo que limita la concurrencia.
+ */
+@Component
+public class LoginTaskExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public LoginTaskExecutor(@Value("${auth.login.executor.pool-size:4}") int poolSize,
+                             @Value("${auth.login.executor.queue-capacity:100}") int queueCapacity,
+                             MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "login-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued, executor.active, executor.queue.remaining, etc. con name=auth.login
+        new ExecutorServiceMetrics(executor, "auth.login", List.of()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.uca.parcialfinalncapas.config;
+
+import com.uca.parcialfinalncapas.metrics.RepositoryCallCounter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Registra el contador de llamadas por solicitud en todos los repositorios de Spring Data.
+ * Los tiempos de cada método de repositorio los publica Actuator como spring.data.repository.invocations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // static: el post-procesador debe existir antes de que se creen los repositorios
+    @Bean
+    public static BeanPostProcessor repositoryCallCounterPostProcessor() {
+        RepositoryCallCounter counter = new RepositoryCallCounter();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(counter));
+                }
+                return bean;
+            }
+        };
+    }
+}
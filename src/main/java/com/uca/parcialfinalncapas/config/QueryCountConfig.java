@@ -0,0 +1,37 @@
+package com.uca.parcialfinalncapas.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource con datasource-proxy para contar las sentencias ejecutadas por hilo
+ * (QueryCountHolder). Solo se activa con tickets.query-count.enabled, en staging y en las pruebas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tickets.query-count", name = "enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Solo el DataSource de la aplicación: con réplicas, el enrutador detrás de él contaría cada sentencia dos veces
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.uca.parcialfinalncapas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de solo lectura configuradas en database.replicas. El pool de cada réplica copia la
+ * configuración de spring.datasource.hikari; usuario y contraseña son opcionales y, si faltan,
+ * se usan los del primario.
+ */
+@Data
+@ConfigurationProperties(prefix = "database")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Tiempo durante el cual las lecturas de un usuario van al primario después de que confirmó una escritura
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    // Espera máxima de Connection.isValid en la verificación periódica de las réplicas
+    private Duration validationTimeout = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
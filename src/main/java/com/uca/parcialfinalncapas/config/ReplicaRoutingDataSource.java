@@ -0,0 +1,186 @@
+package com.uca.parcialfinalncapas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas disponibles (en turno rotativo) y todo lo demás al primario.
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy: la conexión se elige en la primera sentencia,
+ * cuando la transacción ya quedó marcada como readOnly.
+ * <p>
+ * Una réplica que falla al entregar una conexión o en la verificación periódica deja de recibir lecturas
+ * hasta que vuelve a responder; sin réplicas disponibles se lee del primario. Después de confirmar una
+ * escritura, el mismo usuario lee del primario durante database.sticky-window para ver sus propios cambios
+ * aunque la réplica vaya atrasada.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Set<String> disponibles = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger turno = new AtomicInteger();
+    private final Cache<String, Boolean> escriturasRecientes;
+    private final int validationTimeoutSeconds;
+    // Recurso de la transacción en curso que indica que ya se registró la sincronización de la escritura
+    private final Object escrituraRegistrada = new Object();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration stickyWindow, Duration validationTimeout) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.escriturasRecientes = Caffeine.newBuilder().expireAfterWrite(stickyWindow).build();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        disponibles.addAll(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>();
+        replicas.forEach((nombre, replica) -> targets.put(nombre, new ReplicaConRespaldo(nombre, replica)));
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordarEscritura();
+            return PRIMARY;
+        }
+        String usuario = usuarioActual();
+        if (usuario != null && escriturasRecientes.getIfPresent(usuario) != null) {
+            return PRIMARY;
+        }
+        List<String> activas = replicas.keySet().stream().filter(disponibles::contains).toList();
+        if (activas.isEmpty()) {
+            return PRIMARY;
+        }
+        return activas.get(Math.floorMod(turno.getAndIncrement(), activas.size()));
+    }
+
+    /**
+     * Verifica cada réplica y vuelve a habilitar las que responden.
+     */
+    @Scheduled(fixedDelayString = "${database.health-check-interval:PT10S}",
+            initialDelayString = "${database.health-check-interval:PT10S}")
+    public void verificarReplicas() {
+        replicas.forEach((nombre, replica) -> {
+            boolean valida;
+            try (Connection connection = replica.getConnection()) {
+                valida = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                valida = false;
+            }
+            if (valida && disponibles.add(nombre)) {
+                log.info("Réplica {} disponible de nuevo", nombre);
+            } else if (!valida && disponibles.remove(nombre)) {
+                log.warn("Réplica {} no responde, las lecturas pasan al primario", nombre);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Tras confirmar la transacción, las lecturas del usuario van al primario durante la ventana configurada.
+    // Una transacción puede pedir varias conexiones: la sincronización se registra solo con la primera
+    private void recordarEscritura() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(escrituraRegistrada)) {
+            return;
+        }
+        String usuario = usuarioActual();
+        if (usuario == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(escrituraRegistrada, usuario);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                escriturasRecientes.put(usuario, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(escrituraRegistrada);
+            }
+        });
+    }
+
+    private String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // La lectura no falla por una réplica caída: se marca como no disponible y la conexión la entrega el primario
+    private class ReplicaConRespaldo extends DelegatingDataSource {
+
+        private final String nombre;
+
+        private ReplicaConRespaldo(String nombre, DataSource replica) {
+            super(replica);
+            this.nombre = nombre;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                return obtainTargetDataSource().getConnection();
+            } catch (SQLException e) {
+                marcarNoDisponible(e);
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            try {
+                return obtainTargetDataSource().getConnection(username, password);
+            } catch (SQLException e) {
+                marcarNoDisponible(e);
+                return primary.getConnection(username, password);
+            }
+        }
+
+        private void marcarNoDisponible(SQLException e) {
+            if (disponibles.remove(nombre)) {
+                log.warn("Réplica {} no disponible, las lecturas pasan al primario: {}", nombre, e.getMessage());
+            }
+        }
+    }
+}
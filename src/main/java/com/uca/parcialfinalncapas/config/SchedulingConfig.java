@@ -0,0 +1,12 @@
+package com.uca.parcialfinalncapas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas, como la conciliación de las estadísticas de tickets.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
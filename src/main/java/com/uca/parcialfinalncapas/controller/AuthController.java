@@ -1,17 +1,22 @@
 package com.uca.parcialfinalncapas.controller;
 
+import com.uca.parcialfinalncapas.config.LoginTaskExecutor;
 import com.uca.parcialfinalncapas.dto.request.AuthRequest;
 import com.uca.parcialfinalncapas.dto.response.AuthResponse;
 import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
-import com.uca.parcialfinalncapas.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -23,22 +28,38 @@ public class AuthController {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userService;
+    private LoginTaskExecutor loginExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        // Autenticar al usuario
-        var authToken = new UsernamePasswordAuthenticationToken(
-                request.getCorreo(), request.getPassword());
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
 
-        authManager.authenticate(authToken); // Lanza excepción si no es válido
+        // BCrypt se ejecuta en el pool de login; si está saturado se lanza RejectedExecutionException (429)
+        CompletableFuture<ResponseEntity<AuthResponse>> login;
+        try {
+            login = loginExecutor.submit(() -> {
+                // Autenticar al usuario
+                var authToken = new UsernamePasswordAuthenticationToken(
+                        request.getCorreo(), request.getPassword());
 
-        // Obtener detalles y generar token
-        UserDetails userDetails = userService.loadUserByUsername(request.getCorreo());
-        String jwt = jwtUtil.generateToken(userDetails);
+                Authentication authentication = authManager.authenticate(authToken); // Lanza excepción si no es válido
 
-        return ResponseEntity.ok(new AuthResponse(jwt));
+                // El principal autenticado ya contiene los roles, no hace falta volver a cargarlo
+                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+                String jwt = jwtUtil.generateToken(userDetails);
+
+                return ResponseEntity.ok(new AuthResponse(jwt));
+            });
+        } catch (RejectedExecutionException e) {
+            // El rechazo ocurre al enviar la tarea, antes de que exista el futuro que detiene el temporizador
+            sample.stop(meterRegistry.timer("auth.login", "outcome", "rejected"));
+            throw e;
+        }
+        return login.whenComplete((response, error) -> sample.stop(meterRegistry.timer("auth.login",
+                "outcome", error == null ? "success" : "failure")));
     }
 }
-
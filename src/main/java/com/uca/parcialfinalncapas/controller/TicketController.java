@@ -3,53 +3,131 @@ package com.uca.parcialfinalncapas.controller;
 import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.GeneralResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketBatchResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketChangesResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
 import com.uca.parcialfinalncapas.dto.response.TicketResponse;
-import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.dto.response.TicketStatsResponse;
 import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.service.TicketChangesService;
+import com.uca.parcialfinalncapas.service.TicketFeedService;
+import com.uca.parcialfinalncapas.service.TicketSearchService;
 import com.uca.parcialfinalncapas.service.TicketService;
+import com.uca.parcialfinalncapas.service.TicketStatsService;
+import com.uca.parcialfinalncapas.utils.ETagUtil;
 import com.uca.parcialfinalncapas.utils.ResponseBuilderUtil;
+import com.uca.parcialfinalncapas.utils.enums.ExportFormat;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tickets")
 @AllArgsConstructor
 public class TicketController {
     private TicketService ticketService;
+    private TicketStatsService ticketStatsService;
+    private TicketSearchService ticketSearchService;
+    private TicketFeedService ticketFeedService;
+    private TicketChangesService ticketChangesService;
 
     @GetMapping
-    public ResponseEntity<GeneralResponse> getAllTickets() {
+    public ResponseEntity<GeneralResponse<TicketPageResponse>> getAllTickets(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int size,
+                                                         @RequestParam(required = false) String estado,
+                                                         @RequestParam(required = false) Long usuarioId,
+                                                         @RequestParam(required = false) Long tecnicoAsignadoId) {
+        TicketPageResponse page = ticketService.getTickets(cursor, size, estado, usuarioId, tecnicoAsignadoId);
         return ResponseBuilderUtil.buildResponse("Tickets obtenidos correctamente",
-                ticketService.getAllTickets().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.OK,
-                ticketService.getAllTickets());
+                page.getTickets().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.OK,
+                page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<GeneralResponse<TicketPageResponse>> searchTickets(@RequestParam("q") String query,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        TicketPageResponse page = ticketSearchService.search(query, cursor, size);
+        return ResponseBuilderUtil.buildResponse("Búsqueda realizada correctamente", HttpStatus.OK, page);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<GeneralResponse<TicketChangesResponse>> getTicketChanges(@RequestParam(required = false) String since,
+                                                            @RequestParam(defaultValue = "100") int size) {
+        TicketChangesResponse changes = ticketChangesService.getChanges(since, size);
+        return ResponseBuilderUtil.buildResponse("Cambios obtenidos correctamente", HttpStatus.OK, changes);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<GeneralResponse<TicketStatsResponse>> getTicketStats() {
+        return ResponseBuilderUtil.buildResponse("Estadísticas obtenidas correctamente", HttpStatus.OK,
+                ticketStatsService.getStats());
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTickets(@RequestParam(required = false) Long tecnicoId) {
+        return ticketFeedService.subscribe(tecnicoId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = outputStream -> ticketService.exportTickets(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tickets." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<GeneralResponse> getTicketById(@PathVariable Long id) {
+    public ResponseEntity<GeneralResponse<TicketResponse>> getTicketById(@PathVariable Long id, WebRequest request) {
+        // Con If-None-Match solo se consulta la versión: si coincide se responde 304 sin leer ni serializar el ticket
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETagUtil.forTicket(id, ticketService.getTicketVersion(id)))) {
+            return null;
+        }
         TicketResponse ticket = ticketService.getTicketById(id);
         if (ticket == null) {
             throw new BadTicketRequestException("Ticket no encontrado");
         }
-        return ResponseBuilderUtil.buildResponse("Ticket found", HttpStatus.OK, ticket);
+        return ResponseBuilderUtil.buildResponse("Ticket found", HttpStatus.OK, ticket,
+                ETagUtil.forTicket(ticket.getIdTicket(), ticket.getVersion()));
     }
 
     @PostMapping
-    public ResponseEntity<GeneralResponse> createTicket(@Valid @RequestBody TicketCreateRequest ticket) {
+    public ResponseEntity<GeneralResponse<TicketResponse>> createTicket(@Valid @RequestBody TicketCreateRequest ticket) {
         TicketResponse createdTicket = ticketService.createTicket(ticket);
         return ResponseBuilderUtil.buildResponse("Ticket creado correctamente", HttpStatus.CREATED, createdTicket);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<GeneralResponse<TicketBatchResponse>> createTickets(@RequestBody List<TicketCreateRequest> tickets) {
+        TicketBatchResponse result = ticketService.createTickets(tickets);
+        return ResponseBuilderUtil.buildResponse(
+                "Tickets procesados: " + result.getCreados().size() + " creados, " + result.getErrores().size() + " con errores",
+                result.getCreados().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED,
+                result);
+    }
+
     @PutMapping
-    public ResponseEntity<GeneralResponse> updateTicket(@Valid @RequestBody TicketUpdateRequest ticket) {
-        TicketResponse updatedTicket = ticketService.updateTicket(ticket);
-        return ResponseBuilderUtil.buildResponse("Ticket actualizado correctamente", HttpStatus.OK, updatedTicket);
+    public ResponseEntity<GeneralResponse<TicketResponse>> updateTicket(@Valid @RequestBody TicketUpdateRequest ticket,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TicketResponse updatedTicket = ticketService.updateTicket(ticket, ETagUtil.parseTicketVersion(ticket.getId(), ifMatch));
+        return ResponseBuilderUtil.buildResponse("Ticket actualizado correctamente", HttpStatus.OK, updatedTicket,
+                ETagUtil.forTicket(updatedTicket.getIdTicket(), updatedTicket.getVersion()));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<GeneralResponse> deleteTicket(@PathVariable Long id) {
+    public ResponseEntity<GeneralResponse<Void>> deleteTicket(@PathVariable Long id) {
         ticketService.deleteTicket(id);
         return ResponseBuilderUtil.buildResponse("Ticket eliminado correctamente", HttpStatus.OK, null);
     }
@@ -1,11 +1,13 @@
 package com.uca.parcialfinalncapas.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uca.parcialfinalncapas.dto.request.UserCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.UserUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.GeneralResponse;
 import com.uca.parcialfinalncapas.dto.response.UserResponse;
 import com.uca.parcialfinalncapas.entities.User;
 import com.uca.parcialfinalncapas.service.UserService;
+import com.uca.parcialfinalncapas.utils.ETagUtil;
 import com.uca.parcialfinalncapas.utils.ResponseBuilderUtil;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -13,46 +15,48 @@ import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/users")
 @AllArgsConstructor
 public class UserController {
     private UserService userService;
+    private ObjectMapper objectMapper;
 
     @GetMapping("/all")
-    public ResponseEntity<GeneralResponse> getAllUsers() {
-        List<UserResponse> users = userService.findAll();
-
-        return ResponseBuilderUtil.buildResponse(
-                "Usuarios obtenidos correctamente",
-                users.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK,
-                users
-        );
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        // Una respuesta 204 no lleva cuerpo, así que no hace falta escribir la envoltura
+        if (!userService.hasUsers()) {
+            return ResponseEntity.noContent().build();
+        }
+        // Cada página de usuarios se envía apenas se lee, sin juntar el listado completo en memoria
+        return ResponseBuilderUtil.buildStreamingResponse(objectMapper, "Usuarios obtenidos correctamente",
+                HttpStatus.OK, userService::writeAll);
     }
 
     @GetMapping("/{correo}")
-    public ResponseEntity<GeneralResponse> getUserByCorreo(@PathVariable String correo) {
+    public ResponseEntity<GeneralResponse<UserResponse>> getUserByCorreo(@PathVariable String correo) {
+        // El usuario sale de la caché, así que basta con el ETag: Spring responde 304 antes de serializar
         UserResponse user = userService.findByCorreo(correo);
-        return ResponseBuilderUtil.buildResponse("Usuario encontrado", HttpStatus.OK, user);
+        return ResponseBuilderUtil.buildResponse("Usuario encontrado", HttpStatus.OK, user,
+                ETagUtil.forUser(user.getIdUsuario(), user.getVersion()));
     }
 
     @PostMapping
-    public ResponseEntity<GeneralResponse> createUser(@Valid @RequestBody UserCreateRequest user) {
+    public ResponseEntity<GeneralResponse<UserResponse>> createUser(@Valid @RequestBody UserCreateRequest user) {
         UserResponse createdUser = userService.save(user);
         return ResponseBuilderUtil.buildResponse("Usuario creado correctamente", HttpStatus.CREATED, createdUser);
     }
 
     @PutMapping
-    public ResponseEntity<GeneralResponse> updateUser(@Valid @RequestBody UserUpdateRequest user) {
+    public ResponseEntity<GeneralResponse<UserResponse>> updateUser(@Valid @RequestBody UserUpdateRequest user) {
         UserResponse updatedUser = userService.update(user);
         return ResponseBuilderUtil.buildResponse("Usuario actualizado correctamente", HttpStatus.OK, updatedUser);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<GeneralResponse> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<GeneralResponse<Void>> deleteUser(@PathVariable Long id) {
         userService.delete(id);
         return ResponseBuilderUtil.buildResponse("Usuario eliminado correctamente", HttpStatus.OK, null);
     }
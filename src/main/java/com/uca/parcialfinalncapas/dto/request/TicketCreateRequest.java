@@ -11,6 +11,5 @@ public class TicketCreateRequest {
     private String descripcion;
     @NotBlank(message = "Debe indicar el correo del usuario")
     private String correoUsuario;
-    @NotBlank(message = "Debe indicar el correo del técnico asignado")
-    private String correoSoporte;
+    private String correoSoporte; // si se omite, se asigna el técnico con menos tickets activos
 }
@@ -7,10 +7,10 @@ import java.time.LocalDate;
 
 @Data
 @Builder
-public class GeneralResponse {
+public class GeneralResponse<T> {
     private String uri;
     private String message;
     private int status;
     private LocalDate time;
-    private Object data;
+    private T data;
 }
@@ -0,0 +1,11 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TicketBatchError {
+    private int indice; // posición del ticket en la lista recibida
+    private String mensaje;
+}
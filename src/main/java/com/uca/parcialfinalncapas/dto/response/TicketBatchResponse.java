@@ -0,0 +1,13 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TicketBatchResponse {
+    private List<TicketResponse> creados;
+    private List<TicketBatchError> errores;
+}
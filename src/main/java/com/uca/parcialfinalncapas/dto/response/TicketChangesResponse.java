@@ -0,0 +1,15 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TicketChangesResponse {
+    private List<TicketResponseList> tickets; // creados o modificados
+    private List<Long> eliminados; // IDs de los tickets eliminados
+    private String nextCursor; // se envía como since en la siguiente sincronización
+    private boolean hasMore; // true si quedan cambios por descargar
+}
@@ -0,0 +1,11 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TicketFeedEvent {
+    private String tipo; // created, updated o deleted
+    private TicketResponseList ticket;
+}
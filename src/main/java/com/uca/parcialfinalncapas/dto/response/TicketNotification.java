@@ -0,0 +1,14 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import com.uca.parcialfinalncapas.utils.enums.NotificationType;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TicketNotification {
+    private Long id; // ID de la fila del outbox, sirve para deduplicar en el destino
+    private NotificationType tipo;
+    private String correoSoporte;
+    private TicketResponseList ticket;
+}
@@ -0,0 +1,14 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TicketPageResponse {
+    private List<TicketResponseList> tickets;
+    private int size;
+    private String nextCursor; // null cuando no hay más páginas
+}
@@ -1,5 +1,6 @@
 package com.uca.parcialfinalncapas.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -15,4 +16,6 @@ public class TicketResponse {
     private LocalDate fecha;
     private String correoSolicitante;
     private String correoSoporte;
+    @JsonIgnore
+    private Long version; // Se expone como ETag, no en el cuerpo
 }
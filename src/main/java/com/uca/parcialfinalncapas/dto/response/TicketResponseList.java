@@ -13,6 +13,7 @@ public class TicketResponseList {
     private String descripcion;
     private String estado;
     private String fecha;
+    private String fechaActualizacion;
     private Long solicitanteId;
     private Long soporteId;
 }
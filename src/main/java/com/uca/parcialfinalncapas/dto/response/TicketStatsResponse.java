@@ -0,0 +1,15 @@
+package com.uca.parcialfinalncapas.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class TicketStatsResponse {
+    private long total;
+    private Map<String, Long> porEstado;
+    private Map<String, Long> porTecnico; // clave: ID del técnico asignado
+    private Map<String, Long> porSolicitante; // clave: ID del usuario solicitante
+}
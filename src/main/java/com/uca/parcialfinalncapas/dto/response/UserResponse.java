@@ -1,5 +1,6 @@
 package com.uca.parcialfinalncapas.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -10,4 +11,6 @@ public class UserResponse {
     private String nombre;
     private String correo;
     private String nombreRol;
+    @JsonIgnore
+    private Long version; // Se expone como ETag, no en el cuerpo
 }
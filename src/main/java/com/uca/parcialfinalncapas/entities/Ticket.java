@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -13,15 +14,27 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Flyway (db/migration) define el esquema y sus índices
 @Table(name = "tickets")
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
     private String titulo;
     private String descripcion;
     private String estado;
     private Long usuarioId;
     private Long tecnicoAsignadoId;
+    // Junto con el ID es la posición del cursor del listado
+    @Column(nullable = false)
     private LocalDateTime fecha;
+    // Se actualiza en cada INSERT y UPDATE; es la marca que usa la sincronización incremental
+    @UpdateTimestamp
+    @Column(columnDefinition = "timestamp(6) default current_timestamp")
+    private LocalDateTime fechaActualizacion;
+    // Control de concurrencia optimista; también se usa para generar el ETag del ticket
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
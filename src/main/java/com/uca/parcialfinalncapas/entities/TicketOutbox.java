@@ -0,0 +1,41 @@
+package com.uca.parcialfinalncapas.entities;
+
+import com.uca.parcialfinalncapas.utils.enums.NotificationType;
+import com.uca.parcialfinalncapas.utils.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación pendiente de un ticket, escrita en la misma transacción que el cambio del ticket
+ * y entregada después por TicketOutboxServiceImpl.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ticket_outbox")
+public class TicketOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_outbox_seq")
+    @SequenceGenerator(name = "ticket_outbox_seq", sequenceName = "ticket_outbox_seq", allocationSize = 50)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private NotificationType tipo;
+    private Long ticketId;
+    private Long tecnicoId;
+    @Column(columnDefinition = "text")
+    private String payload; // TicketResponseList en JSON
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus estado;
+    private int intentos;
+    private LocalDateTime proximoIntento;
+    private LocalDateTime creado;
+    @Column(length = 1000)
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.uca.parcialfinalncapas.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de un ticket eliminado, para que la sincronización incremental pueda informar la baja.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ticket_tombstones")
+public class TicketTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_tombstones_seq")
+    @SequenceGenerator(name = "ticket_tombstones_seq", sequenceName = "ticket_tombstones_seq", allocationSize = 50)
+    private Long id;
+    private Long ticketId;
+    private LocalDateTime fechaEliminacion;
+}
@@ -20,4 +20,8 @@ public class User {
     private String correo;
     private String password;
     private String nombreRol; // USER o TECH
+    // Control de concurrencia optimista; también se usa para generar el ETag del usuario
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -0,0 +1,36 @@
+package com.uca.parcialfinalncapas.events;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado por TicketServiceImpl cada vez que un ticket se crea, actualiza o elimina.
+ * Lleva el estado del ticket antes y después del cambio; anterior es null al crear y actual es null al eliminar.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final TicketResponseList anterior;
+    private final TicketResponseList actual;
+
+    public static TicketChangedEvent created(TicketResponseList actual) {
+        return new TicketChangedEvent(Type.CREATED, null, actual);
+    }
+
+    public static TicketChangedEvent updated(TicketResponseList anterior, TicketResponseList actual) {
+        return new TicketChangedEvent(Type.UPDATED, anterior, actual);
+    }
+
+    public static TicketChangedEvent deleted(TicketResponseList anterior) {
+        return new TicketChangedEvent(Type.DELETED, anterior, null);
+    }
+}
@@ -3,13 +3,17 @@ package com.uca.parcialfinalncapas.exceptions;
 import com.uca.parcialfinalncapas.dto.response.ErrorResponse;
 import com.uca.parcialfinalncapas.utils.ResponseBuilderUtil;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -34,6 +38,44 @@ public class GlobalExceptionHandler {
         return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+
+    @ExceptionHandler(ResyncRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleResyncRequiredException(ResyncRequiredException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.GONE, e.getMessage());
+    }
+
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(UserAlreadyExistsException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.CONFLICT,
+                "El recurso fue modificado por otra solicitud, vuelva a consultarlo");
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.CONFLICT,
+                "La operación entra en conflicto con registros relacionados");
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.UNAUTHORIZED, "Credenciales inválidas");
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException e) {
+        return ResponseBuilderUtil.buildErrorResponse(e, HttpStatus.TOO_MANY_REQUESTS,
+                "Demasiadas solicitudes de inicio de sesión, intente más tarde");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValueOfEntity(MethodArgumentNotValidException e) {
         List<String> errors = e.getFieldErrors().stream()
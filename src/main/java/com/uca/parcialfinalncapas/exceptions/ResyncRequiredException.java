@@ -0,0 +1,7 @@
+package com.uca.parcialfinalncapas.exceptions;
+
+public class ResyncRequiredException extends RuntimeException {
+    public ResyncRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.uca.parcialfinalncapas.exceptions;
+
+public class UserAlreadyExistsException extends RuntimeException {
+    public UserAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.uca.parcialfinalncapas.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publica cuántas sentencias SQL ejecutó cada solicitud como la métrica http.server.requests.queries.
+ * Depende del DataSource envuelto por QueryCountConfig, que lleva la cuenta en el hilo de la solicitud.
+ * Se ejecuta justo después de RepositoryCallsFilter y, como él, antes de Spring Security.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 11)
+@ConditionalOnProperty(prefix = "tickets.query-count", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("Sentencias SQL por solicitud HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(QueryCountHolder.getGrandTotal().getTotal());
+            // Los hilos de Tomcat se reutilizan: la cuenta no debe pasar a la siguiente solicitud
+            QueryCountHolder.clear();
+        }
+    }
+}
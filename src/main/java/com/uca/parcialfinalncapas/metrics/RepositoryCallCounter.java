@@ -0,0 +1,25 @@
+package com.uca.parcialfinalncapas.metrics;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cuenta las invocaciones a los repositorios hechas dentro de la solicitud HTTP en curso.
+ * Las llamadas fuera de una solicitud (tareas programadas, exportaciones asíncronas) no se cuentan.
+ */
+public class RepositoryCallCounter implements RepositoryMethodInvocationListener {
+
+    static final String ATTRIBUTE = RepositoryCallCounter.class.getName() + ".calls";
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger calls) {
+            calls.incrementAndGet();
+        }
+    }
+}
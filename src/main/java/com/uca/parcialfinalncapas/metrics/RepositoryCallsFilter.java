@@ -0,0 +1,48 @@
+package com.uca.parcialfinalncapas.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica cuántas llamadas a repositorios hizo cada solicitud como la métrica http.server.requests.repository.calls,
+ * etiquetada con el método y el patrón de la ruta. Se ubica antes de Spring Security para incluir la autenticación.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@AllArgsConstructor
+public class RepositoryCallsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger calls = new AtomicInteger();
+        request.setAttribute(RepositoryCallCounter.ATTRIBUTE, calls);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // El patrón evita una serie por cada id de la URL; sin handler (404, recursos) queda como UNKNOWN
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.repository.calls")
+                    .description("Llamadas a repositorios por solicitud HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(calls.get());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.uca.parcialfinalncapas.repository;
+
+import com.uca.parcialfinalncapas.entities.TicketOutbox;
+import com.uca.parcialfinalncapas.utils.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Esta interfaz define el repositorio para las notificaciones pendientes de tickets.
+ */
+@Repository
+public interface TicketOutboxRepository extends JpaRepository<TicketOutbox, Long> {
+
+    /**
+     * Reclama un lote de notificaciones listas para entregar, bloqueando sus filas.
+     * Con lock.timeout -2 Hibernate genera FOR UPDATE SKIP LOCKED, así varias instancias
+     * pueden despachar en paralelo sin tomar las mismas filas ni esperarse entre sí.
+     *
+     * @param estado el estado a buscar (PENDING)
+     * @param ahora el instante actual; solo se toman las que ya cumplieron su espera
+     * @param limit el tamaño máximo del lote
+     * @return las notificaciones bloqueadas, en orden de creación
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT o FROM TicketOutbox o
+            WHERE o.estado = :estado AND o.proximoIntento <= :ahora
+            ORDER BY o.id
+            """)
+    List<TicketOutbox> claimBatch(@Param("estado") OutboxStatus estado, @Param("ahora") LocalDateTime ahora, Limit limit);
+
+    /**
+     * Elimina las notificaciones entregadas antes de la fecha indicada.
+     *
+     * @param estado el estado a eliminar (SENT)
+     * @param antesDe la fecha límite de creación
+     * @return la cantidad de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM TicketOutbox o WHERE o.estado = :estado AND o.creado < :antesDe")
+    int deleteByEstadoAndCreadoBefore(@Param("estado") OutboxStatus estado, @Param("antesDe") LocalDateTime antesDe);
+}
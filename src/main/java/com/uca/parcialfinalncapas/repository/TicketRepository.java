@@ -1,12 +1,172 @@
 package com.uca.parcialfinalncapas.repository;
 
 import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.repository.projection.TechnicianLoadView;
+import com.uca.parcialfinalncapas.repository.projection.TicketCountView;
+import com.uca.parcialfinalncapas.repository.projection.TicketDetailView;
+import com.uca.parcialfinalncapas.repository.projection.TicketSearchView;
+import com.uca.parcialfinalncapas.repository.projection.TicketWithSolicitante;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Esta interfaz define el repositorio para la entidad Ticket.
  */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+// El listado paginado arma sus filtros con TicketSpecifications
+public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket> {
+
+    /**
+     * Obtiene el detalle de un ticket con los correos del solicitante y del técnico en una sola consulta.
+     *
+     * @param id el ID del ticket
+     * @return la proyección del ticket, o vacío si no existe
+     */
+    @Query("""
+            SELECT t.id AS id, t.titulo AS titulo, t.descripcion AS descripcion, t.estado AS estado,
+                   t.fecha AS fecha, s.correo AS correoSolicitante, p.correo AS correoSoporte, t.version AS version
+            FROM Ticket t
+            LEFT JOIN User s ON s.id = t.usuarioId
+            LEFT JOIN User p ON p.id = t.tecnicoAsignadoId
+            WHERE t.id = :id
+            """)
+    Optional<TicketDetailView> findDetailById(@Param("id") Long id);
+
+    /**
+     * Obtiene solo la versión de un ticket, para resolver If-None-Match sin leer el detalle.
+     *
+     * @param id el ID del ticket
+     * @return la versión del ticket, o vacío si no existe
+     */
+    @Query("SELECT t.version FROM Ticket t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Obtiene un ticket administrado junto con el correo de su solicitante en una sola consulta.
+     *
+     * @param id el ID del ticket
+     * @return el ticket y el correo del solicitante, o vacío si no existe
+     */
+    @Query("""
+            SELECT new com.uca.parcialfinalncapas.repository.projection.TicketWithSolicitante(t, s.correo)
+            FROM Ticket t
+            LEFT JOIN User s ON s.id = t.usuarioId
+            WHERE t.id = :id
+            """)
+    Optional<TicketWithSolicitante> findWithSolicitanteById(@Param("id") Long id);
+
+    /**
+     * Recorre todos los tickets con un cursor del servidor en lugar de cargarlos en memoria.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return el flujo de tickets ordenado por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t ORDER BY t.id")
+    Stream<Ticket> streamAll();
+
+    @Query("SELECT t.estado AS clave, COUNT(t) AS total FROM Ticket t GROUP BY t.estado")
+    List<TicketCountView> countByEstado();
+
+    @Query("SELECT CAST(t.tecnicoAsignadoId AS String) AS clave, COUNT(t) AS total FROM Ticket t GROUP BY t.tecnicoAsignadoId")
+    List<TicketCountView> countByTecnicoAsignado();
+
+    @Query("SELECT CAST(t.usuarioId AS String) AS clave, COUNT(t) AS total FROM Ticket t GROUP BY t.usuarioId")
+    List<TicketCountView> countByUsuario();
+
+    /**
+     * Cuenta los tickets en los estados indicados por técnico asignado.
+     *
+     * @param estados los estados a contar
+     * @return la carga de cada técnico con al menos un ticket en esos estados
+     */
+    @Query("""
+            SELECT t.tecnicoAsignadoId AS tecnicoId, COUNT(t) AS total FROM Ticket t
+            WHERE t.estado IN :estados
+            GROUP BY t.tecnicoAsignadoId
+            """)
+    List<TechnicianLoadView> countActiveByTecnico(@Param("estados") Collection<String> estados);
+
+    /**
+     * Primera página de la búsqueda de texto completo en PostgreSQL sobre título (peso A) y descripción (peso B).
+     * La expresión coincide con la del índice GIN idx_tickets_fts.
+     *
+     * @param query el texto a buscar
+     * @param limit la cantidad máxima de tickets
+     * @return los tickets con su relevancia, ordenados por relevancia y luego por ID descendente
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.titulo AS titulo, t.descripcion AS descripcion, t.estado AS estado, t.fecha AS fecha,
+                   t.fecha_actualizacion AS fechaActualizacion, t.usuario_id AS usuarioId,
+                   t.tecnico_asignado_id AS tecnicoAsignadoId, t.rango AS rango
+            FROM (SELECT t.*, ts_rank(setweight(to_tsvector('spanish', coalesce(t.titulo, '')), 'A')
+                          || setweight(to_tsvector('spanish', coalesce(t.descripcion, '')), 'B'), q) AS rango
+                  FROM tickets t, plainto_tsquery('spanish', :query) q
+                  WHERE (setweight(to_tsvector('spanish', coalesce(t.titulo, '')), 'A')
+                         || setweight(to_tsvector('spanish', coalesce(t.descripcion, '')), 'B')) @@ q) t
+            ORDER BY t.rango DESC, t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TicketSearchView> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Páginas siguientes de la búsqueda de texto completo: continúa por keyset después de la posición (rango, id)
+     * del último ticket entregado, sin volver a leer ni saltar las páginas anteriores.
+     *
+     * @param query el texto a buscar
+     * @param rango la relevancia del último ticket de la página anterior
+     * @param id el ID del último ticket de la página anterior
+     * @param limit la cantidad máxima de tickets
+     * @return los tickets con su relevancia, ordenados por relevancia y luego por ID descendente
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.titulo AS titulo, t.descripcion AS descripcion, t.estado AS estado, t.fecha AS fecha,
+                   t.fecha_actualizacion AS fechaActualizacion, t.usuario_id AS usuarioId,
+                   t.tecnico_asignado_id AS tecnicoAsignadoId, t.rango AS rango
+            FROM (SELECT t.*, ts_rank(setweight(to_tsvector('spanish', coalesce(t.titulo, '')), 'A')
+                          || setweight(to_tsvector('spanish', coalesce(t.descripcion, '')), 'B'), q) AS rango
+                  FROM tickets t, plainto_tsquery('spanish', :query) q
+                  WHERE (setweight(to_tsvector('spanish', coalesce(t.titulo, '')), 'A')
+                         || setweight(to_tsvector('spanish', coalesce(t.descripcion, '')), 'B')) @@ q) t
+            WHERE t.rango < CAST(:rango AS real) OR (t.rango = CAST(:rango AS real) AND t.id < :id)
+            ORDER BY t.rango DESC, t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TicketSearchView> searchFullTextAfter(@Param("query") String query, @Param("rango") float rango,
+                                               @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Obtiene los tickets modificados después de la marca (fecha, id) y hasta la fecha límite, en orden de la marca.
+     * Usa el índice idx_tickets_fecha_actualizacion_id, así que el costo depende de la cantidad de cambios.
+     *
+     * @param fecha la fecha de la marca
+     * @param id el ID del ticket de la marca
+     * @param hasta la fecha máxima a incluir
+     * @param limit la cantidad máxima de tickets
+     * @return los tickets ordenados por fecha de actualización e ID
+     */
+    @Query("""
+            SELECT t FROM Ticket t
+            WHERE (t.fechaActualizacion > :fecha OR (t.fechaActualizacion = :fecha AND t.id > :id))
+              AND t.fechaActualizacion <= :hasta
+            ORDER BY t.fechaActualizacion, t.id
+            """)
+    List<Ticket> findChangedSince(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                  @Param("hasta") LocalDateTime hasta, Limit limit);
 }
@@ -0,0 +1,69 @@
+package com.uca.parcialfinalncapas.repository;
+
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.utils.CursorUtil.Watermark;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros del listado de tickets. Solo se agregan los predicados de los filtros presentes, así cada combinación
+ * produce una sentencia propia que PostgreSQL puede planificar con el índice que le corresponde, en lugar de
+ * una sola consulta con condiciones del tipo (:param IS NULL OR columna = :param).
+ */
+public final class TicketSpecifications {
+
+    // Orden del listado; debe coincidir con la condición de keyset de antesDe y con los índices (..., fecha, id)
+    public static final Sort ORDEN_LISTADO = Sort.by(Sort.Direction.DESC, "fecha", "id");
+
+    private TicketSpecifications() {
+    }
+
+    /**
+     * Combina los filtros indicados; los nulos se omiten.
+     *
+     * @param cursor posición (fecha, id) del último ticket de la página anterior, o null para la primera página
+     * @param estado descripción del estado a filtrar
+     * @param usuarioId ID del usuario solicitante a filtrar
+     * @param tecnicoAsignadoId ID del técnico asignado a filtrar
+     * @return la especificación con los predicados presentes
+     */
+    public static Specification<Ticket> listado(Watermark cursor, String estado, Long usuarioId, Long tecnicoAsignadoId) {
+        List<Specification<Ticket>> filtros = new ArrayList<>();
+        if (estado != null) {
+            filtros.add(conEstado(estado));
+        }
+        if (usuarioId != null) {
+            filtros.add(deUsuario(usuarioId));
+        }
+        if (tecnicoAsignadoId != null) {
+            filtros.add(asignadoA(tecnicoAsignadoId));
+        }
+        if (cursor != null) {
+            filtros.add(antesDe(cursor));
+        }
+        return Specification.allOf(filtros);
+    }
+
+    public static Specification<Ticket> conEstado(String estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    public static Specification<Ticket> deUsuario(Long usuarioId) {
+        return (root, query, cb) -> cb.equal(root.get("usuarioId"), usuarioId);
+    }
+
+    public static Specification<Ticket> asignadoA(Long tecnicoAsignadoId) {
+        return (root, query, cb) -> cb.equal(root.get("tecnicoAsignadoId"), tecnicoAsignadoId);
+    }
+
+    // Tickets posteriores al cursor en ORDEN_LISTADO: fecha anterior o la misma fecha con un ID menor.
+    // La cota fecha <= cursor es redundante pero PostgreSQL la usa como condición del índice; el OR solo filtra
+    public static Specification<Ticket> antesDe(Watermark cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("fecha"), cursor.fecha()),
+                cb.or(cb.lessThan(root.get("fecha"), cursor.fecha()), cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,48 @@
+package com.uca.parcialfinalncapas.repository;
+
+import com.uca.parcialfinalncapas.entities.TicketTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Esta interfaz define el repositorio para los registros de tickets eliminados.
+ */
+@Repository
+public interface TicketTombstoneRepository extends JpaRepository<TicketTombstone, Long> {
+
+    /**
+     * Obtiene las bajas posteriores a la marca (fecha, ticketId) y hasta la fecha límite, en orden de la marca.
+     * Usa el índice idx_ticket_tombstones_fecha_ticket.
+     *
+     * @param fecha la fecha de la marca
+     * @param ticketId el ID del ticket de la marca
+     * @param hasta la fecha máxima a incluir
+     * @param limit la cantidad máxima de bajas
+     * @return las bajas ordenadas por fecha de eliminación e ID del ticket
+     */
+    @Query("""
+            SELECT b FROM TicketTombstone b
+            WHERE (b.fechaEliminacion > :fecha OR (b.fechaEliminacion = :fecha AND b.ticketId > :ticketId))
+              AND b.fechaEliminacion <= :hasta
+            ORDER BY b.fechaEliminacion, b.ticketId
+            """)
+    List<TicketTombstone> findDeletedSince(@Param("fecha") LocalDateTime fecha, @Param("ticketId") Long ticketId,
+                                           @Param("hasta") LocalDateTime hasta, Limit limit);
+
+    /**
+     * Elimina las bajas anteriores a la fecha indicada.
+     *
+     * @param antesDe la fecha límite
+     * @return la cantidad de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM TicketTombstone b WHERE b.fechaEliminacion < :antesDe")
+    int deleteByFechaEliminacionBefore(@Param("antesDe") LocalDateTime antesDe);
+}
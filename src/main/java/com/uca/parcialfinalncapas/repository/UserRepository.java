@@ -1,14 +1,61 @@
 package com.uca.parcialfinalncapas.repository;
 
+import com.uca.parcialfinalncapas.config.CacheConfig;
 import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.projection.UserSnapshot;
+import com.uca.parcialfinalncapas.repository.projection.UserView;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Esta interfaz define el repositorio para la entidad User.
  * Permite realizar operaciones CRUD sobre los usuarios.
+ * Las lecturas por correo e ID se guardan en caché como UserSnapshot; UserServiceImpl se encarga de invalidarlas.
+ * findByCorreo y findById devuelven la entidad desde la base, para el login y para las escrituras.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByCorreo(String correo);
+
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_CORREO, unless = "#result == null")
+    @Query("""
+            SELECT new com.uca.parcialfinalncapas.repository.projection.UserSnapshot(u.id, u.nombre, u.correo, u.nombreRol, u.version)
+            FROM User u
+            WHERE u.correo = :correo
+            """)
+    Optional<UserSnapshot> findSnapshotByCorreo(@Param("correo") String correo);
+
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, unless = "#result == null")
+    @Query("""
+            SELECT new com.uca.parcialfinalncapas.repository.projection.UserSnapshot(u.id, u.nombre, u.correo, u.nombreRol, u.version)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<UserSnapshot> findSnapshotById(@Param("id") Long id);
+
+    List<User> findByCorreoIn(Collection<String> correos);
+
+    /**
+     * Obtiene una página de usuarios con ID mayor al indicado, en orden de ID.
+     *
+     * @param afterId el último ID de la página anterior, o 0 para la primera página
+     * @param limit la cantidad máxima de usuarios
+     * @return los usuarios de la página
+     */
+    @Query("""
+            SELECT u.id AS id, u.nombre AS nombre, u.correo AS correo, u.nombreRol AS nombreRol, u.version AS version
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<UserView> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT u.id FROM User u WHERE u.nombreRol = :nombreRol")
+    List<Long> findIdsByNombreRol(@Param("nombreRol") String nombreRol);
 }
@@ -0,0 +1,10 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+/**
+ * Cantidad de tickets abiertos o en proceso asignados a un técnico.
+ */
+public interface TechnicianLoadView {
+    Long getTecnicoId();
+
+    Long getTotal();
+}
@@ -0,0 +1,10 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+/**
+ * Resultado de un conteo de tickets agrupado por una clave (estado, técnico o solicitante).
+ */
+public interface TicketCountView {
+    String getClave();
+
+    Long getTotal();
+}
@@ -0,0 +1,25 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de lectura del detalle de un ticket junto con los correos
+ * del solicitante y del técnico, obtenida en una sola consulta.
+ */
+public interface TicketDetailView {
+    Long getId();
+
+    String getTitulo();
+
+    String getDescripcion();
+
+    String getEstado();
+
+    LocalDateTime getFecha();
+
+    String getCorreoSolicitante();
+
+    String getCorreoSoporte();
+
+    Long getVersion();
+}
@@ -0,0 +1,27 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de la búsqueda de texto completo: las columnas del listado y la relevancia (ts_rank) con la que
+ * se ordenó, necesaria para armar el cursor de la página siguiente.
+ */
+public interface TicketSearchView {
+    Long getId();
+
+    String getTitulo();
+
+    String getDescripcion();
+
+    String getEstado();
+
+    LocalDateTime getFecha();
+
+    LocalDateTime getFechaActualizacion();
+
+    Long getUsuarioId();
+
+    Long getTecnicoAsignadoId();
+
+    Float getRango();
+}
@@ -0,0 +1,16 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+import com.uca.parcialfinalncapas.entities.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Ticket administrado junto con el correo de su solicitante, para las
+ * operaciones que modifican el ticket y necesitan responder con el correo.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketWithSolicitante {
+    private Ticket ticket;
+    private String correoSolicitante;
+}
@@ -0,0 +1,8 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+/**
+ * Copia inmutable de un usuario, sin la contraseña, que se guarda en la caché de usuarios.
+ * Todos los que leen de la caché comparten la misma instancia, por eso no se cachea la entidad administrada.
+ */
+public record UserSnapshot(Long id, String nombre, String correo, String nombreRol, Long version) {
+}
@@ -0,0 +1,16 @@
+package com.uca.parcialfinalncapas.repository.projection;
+
+/**
+ * Proyección de lectura de un usuario sin la contraseña, para listados que no necesitan la entidad administrada.
+ */
+public interface UserView {
+    Long getId();
+
+    String getNombre();
+
+    String getCorreo();
+
+    String getNombreRol();
+
+    Long getVersion();
+}
@@ -1,33 +1,88 @@
 package com.uca.parcialfinalncapas.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
 
     private final String SECRET_KEY = "mi_clave_secreta";
 
+    // Tokens cuya firma ya fue verificada, para no repetir el HMAC y el parseo en cada solicitud
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(@Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${security.jwt.cache.ttl:10m}") Duration cacheTtl) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                // Mantenimiento en el hilo que llama: con max-size 0 la caché queda realmente deshabilitada
+                .executor(Runnable::run)
+                .build();
+    }
+
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername()) // correo del usuario
-                .claim("authorities", userDetails.getAuthorities()) // roles,
+                .claim("authorities", userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList()) // roles
                 .setIssuedAt(new Date()) // fecha de emisión
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 horas
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY) //  firma
                 .compact();
     }
 
+    /**
+     * Valida la firma y la expiración del token y devuelve sus claims.
+     * Lanza JwtException si el token no es válido o ya expiró.
+     */
+    public Claims extractClaims(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = Jwts.parser()
+                    .setSigningKey(SECRET_KEY)
+                    .parseClaimsJws(token)
+                    .getBody();
+            verifiedTokens.put(token, claims);
+        } else if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+            // La caché puede sobrevivir al token, así que la expiración se revisa en cada uso
+            verifiedTokens.invalidate(token);
+            throw new ExpiredJwtException(null, claims, "El token ha expirado");
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return extractClaims(token).getSubject();
+    }
+
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        Object authorities = claims.get("authorities");
+        if (!(authorities instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                // Los tokens anteriores guardaban los roles como objetos {"authority": "..."}
+                .map(value -> value instanceof Map<?, ?> map ? map.get("authority") : value)
+                .filter(value -> value != null)
+                .map(value -> (GrantedAuthority) new SimpleGrantedAuthority(value.toString()))
+                .toList();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
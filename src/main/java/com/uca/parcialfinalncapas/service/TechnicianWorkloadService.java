@@ -0,0 +1,31 @@
+package com.uca.parcialfinalncapas.service;
+
+import java.util.Optional;
+
+public interface TechnicianWorkloadService {
+    /**
+     * Obtiene el técnico con menos tickets abiertos o en proceso.
+     *
+     * @return el ID del técnico, o vacío si no hay técnicos registrados
+     */
+    Optional<Long> leastLoadedTechnician();
+
+    /**
+     * Agrega a un técnico nuevo a la asignación automática con carga cero.
+     *
+     * @param tecnicoId el ID del técnico
+     */
+    void register(Long tecnicoId);
+
+    /**
+     * Quita a un técnico de la asignación automática, por ejemplo si fue eliminado o cambió de rol.
+     *
+     * @param tecnicoId el ID del técnico
+     */
+    void remove(Long tecnicoId);
+
+    /**
+     * Recarga la carga de todos los técnicos desde la base de datos.
+     */
+    void reload();
+}
@@ -0,0 +1,21 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.response.TicketChangesResponse;
+
+public interface TicketChangesService {
+    /**
+     * Obtiene los tickets creados, modificados o eliminados después de la marca indicada.
+     *
+     * @param since el cursor devuelto por la sincronización anterior, o null para empezar desde el principio
+     * @param size la cantidad máxima de cambios a devolver
+     * @return los cambios en orden y el cursor para continuar
+     */
+    TicketChangesResponse getChanges(String since, int size);
+
+    /**
+     * Elimina los registros de bajas más antiguos que el período de retención.
+     *
+     * @return la cantidad de registros eliminados
+     */
+    int purgeTombstones();
+}
@@ -0,0 +1,13 @@
+package com.uca.parcialfinalncapas.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TicketFeedService {
+    /**
+     * Registra una suscripción a los cambios de tickets confirmados.
+     *
+     * @param tecnicoId el ID del técnico cuyos tickets se quieren recibir, o null para recibir todos
+     * @return el emisor SSE de la suscripción
+     */
+    SseEmitter subscribe(Long tecnicoId);
+}
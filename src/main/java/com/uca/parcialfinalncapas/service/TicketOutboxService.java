@@ -0,0 +1,17 @@
+package com.uca.parcialfinalncapas.service;
+
+public interface TicketOutboxService {
+    /**
+     * Entrega un lote de notificaciones pendientes, reprogramando con espera exponencial las que fallan.
+     *
+     * @return la cantidad de notificaciones procesadas en el lote
+     */
+    int dispatchPending();
+
+    /**
+     * Elimina las notificaciones entregadas más antiguas que el período de retención.
+     *
+     * @return la cantidad de notificaciones eliminadas
+     */
+    int purgeDelivered();
+}
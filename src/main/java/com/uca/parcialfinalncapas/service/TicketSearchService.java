@@ -0,0 +1,15 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
+
+public interface TicketSearchService {
+    /**
+     * Busca tickets por texto en el título y la descripción, ordenados por relevancia.
+     *
+     * @param query el texto a buscar
+     * @param cursor el cursor devuelto por la página anterior, o null para la primera página
+     * @param size la cantidad de tickets por página
+     * @return la página de resultados y el cursor de la siguiente página
+     */
+    TicketPageResponse search(String query, String cursor, int size);
+}
@@ -2,9 +2,13 @@ package com.uca.parcialfinalncapas.service;
 
 import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketBatchResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
 import com.uca.parcialfinalncapas.dto.response.TicketResponse;
-import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.utils.enums.ExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TicketService {
@@ -16,13 +20,23 @@ public interface TicketService {
      */
     TicketResponse createTicket(TicketCreateRequest ticket);
 
+    /**
+     * Crea varios tickets en una sola operación. Los tickets inválidos se reportan
+     * individualmente y no impiden la creación del resto.
+     *
+     * @param tickets los tickets a crear
+     * @return los tickets creados y los errores por posición
+     */
+    TicketBatchResponse createTickets(List<TicketCreateRequest> tickets);
+
     /**
      * Actualiza un ticket existente.
      *
      * @param ticket los nuevos datos del ticket
+     * @param expectedVersion la versión que el cliente espera modificar (If-Match), o null para no verificarla
      * @return el ticket actualizado
      */
-    TicketResponse updateTicket(TicketUpdateRequest ticket);
+    TicketResponse updateTicket(TicketUpdateRequest ticket, Long expectedVersion);
 
     /**
      * Elimina un ticket por su ID.
@@ -40,9 +54,31 @@ public interface TicketService {
     TicketResponse getTicketById(Long id);
 
     /**
-     * Obtiene todos los tickets.
+     * Obtiene solo la versión de un ticket, usada para responder a peticiones condicionales.
+     *
+     * @param id el ID del ticket
+     * @return la versión actual del ticket
+     */
+    Long getTicketVersion(Long id);
+
+    /**
+     * Obtiene una página de tickets usando paginación por cursor.
+     *
+     * @param cursor el cursor devuelto por la página anterior, o null para la primera página
+     * @param size la cantidad de tickets por página
+     * @param estado el estado a filtrar (OPEN, IN_PROGRESS o CLOSED), o null
+     * @param usuarioId el ID del usuario solicitante a filtrar, o null
+     * @param tecnicoAsignadoId el ID del técnico asignado a filtrar, o null
+     * @return la página de tickets y el cursor de la siguiente página
+     */
+    TicketPageResponse getTickets(String cursor, int size, String estado, Long usuarioId, Long tecnicoAsignadoId);
+
+    /**
+     * Escribe todos los tickets en el flujo de salida sin cargarlos completos en memoria.
      *
-     * @return una lista de todos los tickets
+     * @param format el formato de exportación
+     * @param outputStream el flujo donde se escriben los tickets
+     * @throws IOException si ocurre un error al escribir
      */
-    List<TicketResponseList> getAllTickets();
+    void exportTickets(ExportFormat format, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,17 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.response.TicketStatsResponse;
+
+public interface TicketStatsService {
+    /**
+     * Obtiene los conteos de tickets por estado, técnico y solicitante desde los contadores en memoria.
+     *
+     * @return las estadísticas actuales
+     */
+    TicketStatsResponse getStats();
+
+    /**
+     * Recalcula los contadores con consultas GROUP BY para corregir cualquier desviación.
+     */
+    void reconcile();
+}
@@ -1,11 +1,12 @@
 package com.uca.parcialfinalncapas.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.uca.parcialfinalncapas.dto.request.UserCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.UserUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.UserResponse;
 import com.uca.parcialfinalncapas.entities.User;
 
-import java.util.List;
+import java.io.IOException;
 
 public interface UserService {
     /**
@@ -40,9 +41,21 @@ public interface UserService {
     void delete(Long id);
 
     /**
-     * Buscar todos los usuarios.
+     * Escribe todos los usuarios como un arreglo JSON, en orden de ID.
+     * Se leen por keyset en páginas de una proyección, todas dentro de la misma transacción de solo lectura,
+     * y cada página se escribe apenas se lee.
+     *
+     * @param generator el generador donde se escribe el arreglo
+     * @throws IOException si ocurre un error al escribir
+     */
+    void writeAll(JsonGenerator generator) throws IOException;
+
+    /**
+     * Indica si existe al menos un usuario.
+     *
+     * @return true si hay usuarios
      */
-    List<UserResponse> findAll();
+    boolean hasUsers();
 
 
 }
@@ -0,0 +1,134 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.repository.projection.TechnicianLoadView;
+import com.uca.parcialfinalncapas.service.TechnicianWorkloadService;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Lleva en memoria la cantidad de tickets abiertos o en proceso de cada técnico, ordenada de menor a mayor,
+ * para elegir al técnico menos cargado sin consultar la tabla de tickets en cada creación.
+ * La carga se actualiza con cada TicketChangedEvent confirmado y se recarga periódicamente desde la base de datos.
+ * Dos creaciones simultáneas pueden elegir al mismo técnico; la recarga periódica corrige cualquier desviación.
+ */
+@Service
+@RequiredArgsConstructor
+public class TechnicianWorkloadServiceImpl implements TechnicianWorkloadService {
+
+    static final List<String> ESTADOS_ACTIVOS = List.of(State.OPEN.getDescription(), State.IN_PROGRESS.getDescription());
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    private volatile Workload workload = new Workload();
+
+    @Override
+    public Optional<Long> leastLoadedTechnician() {
+        Workload actual = workload;
+        if (actual.orden.isEmpty()) {
+            // Arranque en frío o técnicos registrados después de la última recarga
+            reload();
+            actual = workload;
+            if (actual.orden.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(actual.orden.first().tecnicoId());
+    }
+
+    @Override
+    public void register(Long tecnicoId) {
+        workload.register(tecnicoId);
+    }
+
+    @Override
+    public void remove(Long tecnicoId) {
+        Workload actual = workload;
+        actual.cargaPorTecnico.computeIfPresent(tecnicoId, (id, tickets) -> {
+            actual.orden.remove(new Carga(tickets, id));
+            return null;
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.assignment.reload-interval:PT5M}",
+            initialDelayString = "${tickets.assignment.reload-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        Workload recargada = new Workload();
+        for (Long tecnicoId : userRepository.findIdsByNombreRol(Rol.TECH.getValue())) {
+            recargada.register(tecnicoId);
+        }
+        for (TechnicianLoadView carga : ticketRepository.countActiveByTecnico(ESTADOS_ACTIVOS)) {
+            // Solo se consideran los técnicos que siguen teniendo el rol TECH
+            if (recargada.cargaPorTecnico.containsKey(carga.getTecnicoId())) {
+                recargada.adjust(carga.getTecnicoId(), carga.getTotal());
+            }
+        }
+        workload = recargada;
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        Workload actual = workload;
+        if (isActive(event.getAnterior())) {
+            actual.adjust(event.getAnterior().getSoporteId(), -1);
+        }
+        if (isActive(event.getActual())) {
+            actual.adjust(event.getActual().getSoporteId(), 1);
+        }
+    }
+
+    private static boolean isActive(TicketResponseList ticket) {
+        return ticket != null && ticket.getSoporteId() != null && ESTADOS_ACTIVOS.contains(ticket.getEstado());
+    }
+
+    private record Carga(long tickets, long tecnicoId) implements Comparable<Carga> {
+        @Override
+        public int compareTo(Carga otra) {
+            int porTickets = Long.compare(tickets, otra.tickets);
+            return porTickets != 0 ? porTickets : Long.compare(tecnicoId, otra.tecnicoId);
+        }
+    }
+
+    private static class Workload {
+        private final Map<Long, Long> cargaPorTecnico = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Carga> orden = new ConcurrentSkipListSet<>();
+
+        // compute es atómico por técnico, así que el mapa y el conjunto ordenado se mantienen consistentes
+        // Los técnicos desconocidos se ignoran: solo entran por recarga o registro explícito
+        private void adjust(Long tecnicoId, long delta) {
+            cargaPorTecnico.computeIfPresent(tecnicoId, (id, tickets) -> {
+                orden.remove(new Carga(tickets, id));
+                long nueva = Math.max(0, tickets + delta);
+                orden.add(new Carga(nueva, id));
+                return nueva;
+            });
+        }
+
+        private void register(Long tecnicoId) {
+            cargaPorTecnico.computeIfAbsent(tecnicoId, id -> {
+                orden.add(new Carga(0, id));
+                return 0L;
+            });
+        }
+    }
+}
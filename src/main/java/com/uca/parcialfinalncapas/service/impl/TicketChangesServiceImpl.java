@@ -0,0 +1,128 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.uca.parcialfinalncapas.dto.response.TicketChangesResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.TicketTombstone;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.exceptions.ResyncRequiredException;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.TicketTombstoneRepository;
+import com.uca.parcialfinalncapas.service.TicketChangesService;
+import com.uca.parcialfinalncapas.utils.CursorUtil;
+import com.uca.parcialfinalncapas.utils.CursorUtil.Watermark;
+import com.uca.parcialfinalncapas.utils.mappers.TicketMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sincronización incremental de tickets. Los cambios y las bajas se leen por rango sobre la marca
+ * (fecha, ID) y se combinan en un solo orden, así que el costo depende de la cantidad de cambios y no
+ * del tamaño de la tabla. Solo se entregan cambios con más antigüedad que safety-lag: una transacción
+ * que marcó su fecha antes de que otra confirmara todavía puede estar en curso, y entregar los cambios
+ * más recientes podría hacer que el cliente avance su marca sin verla.
+ */
+@Service
+public class TicketChangesServiceImpl implements TicketChangesService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Watermark ORIGIN = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final TicketRepository ticketRepository;
+    private final TicketTombstoneRepository tombstoneRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+
+    public TicketChangesServiceImpl(TicketRepository ticketRepository,
+                                    TicketTombstoneRepository tombstoneRepository,
+                                    @Value("${tickets.changes.safety-lag:PT5S}") Duration safetyLag,
+                                    @Value("${tickets.changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.ticketRepository = ticketRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketChangesResponse getChanges(String since, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadTicketRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Watermark desde = CursorUtil.decodeWatermark(since);
+        if (desde == null) {
+            desde = ORIGIN;
+        } else if (desde.fecha().isBefore(ahora.minus(tombstoneRetention))) {
+            // Las bajas de ese período ya se purgaron: el cliente debe descargar la lista completa
+            throw new ResyncRequiredException("El cursor de sincronización expiró, descargue la lista completa de tickets");
+        }
+
+        LocalDateTime hasta = ahora.minus(safetyLag);
+        List<Ticket> cambios = ticketRepository.findChangedSince(desde.fecha(), desde.id(), hasta, Limit.of(size + 1));
+        List<TicketTombstone> bajas = tombstoneRepository.findDeletedSince(desde.fecha(), desde.id(), hasta, Limit.of(size + 1));
+
+        // Mezcla de las dos listas ya ordenadas por la marca hasta completar la página
+        List<TicketResponseList> tickets = new ArrayList<>();
+        List<Long> eliminados = new ArrayList<>();
+        Watermark ultima = desde;
+        int i = 0;
+        int j = 0;
+        while (tickets.size() + eliminados.size() < size && (i < cambios.size() || j < bajas.size())) {
+            Watermark cambio = i < cambios.size() ? watermarkOf(cambios.get(i)) : null;
+            Watermark baja = j < bajas.size() ? watermarkOf(bajas.get(j)) : null;
+            if (baja == null || (cambio != null && compare(cambio, baja) <= 0)) {
+                tickets.add(TicketMapper.toListDTO(cambios.get(i++)));
+                ultima = cambio;
+            } else {
+                eliminados.add(bajas.get(j++).getTicketId());
+                ultima = baja;
+            }
+        }
+        // Una página vacía confirma que no hubo cambios hasta "hasta": la marca avanza hasta ahí para que
+        // un cliente sin actividad no termine con un cursor expirado. El ID 0 no salta ningún cambio con esa fecha
+        if (tickets.isEmpty() && eliminados.isEmpty()) {
+            Watermark limite = new Watermark(hasta, 0L);
+            if (compare(limite, desde) > 0) {
+                ultima = limite;
+            }
+        }
+
+        return TicketChangesResponse.builder()
+                .tickets(tickets)
+                .eliminados(eliminados)
+                .nextCursor(CursorUtil.encode(ultima))
+                .hasMore(i < cambios.size() || j < bajas.size())
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${tickets.changes.purge-interval:PT1H}",
+            initialDelayString = "${tickets.changes.purge-interval:PT1H}")
+    @Transactional
+    public int purgeTombstones() {
+        return tombstoneRepository.deleteByFechaEliminacionBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private static Watermark watermarkOf(Ticket ticket) {
+        return new Watermark(ticket.getFechaActualizacion(), ticket.getId());
+    }
+
+    private static Watermark watermarkOf(TicketTombstone tombstone) {
+        return new Watermark(tombstone.getFechaEliminacion(), tombstone.getTicketId());
+    }
+
+    private static int compare(Watermark a, Watermark b) {
+        int porFecha = a.fecha().compareTo(b.fecha());
+        return porFecha != 0 ? porFecha : a.id().compareTo(b.id());
+    }
+}
@@ -0,0 +1,182 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.parcialfinalncapas.dto.response.TicketFeedEvent;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
+import com.uca.parcialfinalncapas.service.TicketFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difunde por SSE los cambios de tickets confirmados. Cada suscriptor tiene un buffer acotado que se vacía
+ * en un executor compartido; si el buffer se llena el cliente es lento y se desconecta, para que nunca
+ * frene al hilo que confirma la transacción ni acumule memoria. El cliente puede reconectarse y
+ * recuperar lo perdido con la API de tickets.
+ */
+@Slf4j
+@Service
+public class TicketFeedServiceImpl implements TicketFeedService {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("ping").build();
+
+    // El envío bloquea mientras el socket del cliente no acepta datos, así que se usan hilos virtuales
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ticket-feed-", 0).factory());
+
+    public TicketFeedServiceImpl(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tickets.feed.buffer-size:256}") int bufferSize,
+                                 @Value("${tickets.feed.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        meterRegistry.gaugeCollectionSize("tickets.feed.subscribers", Tags.empty(), subscribers);
+        this.dropped = meterRegistry.counter("tickets.feed.dropped");
+    }
+
+    @Override
+    public SseEmitter subscribe(Long tecnicoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, tecnicoId, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        TicketResponseList ticket = event.getActual() != null ? event.getActual() : event.getAnterior();
+        String tipo = event.getType().name().toLowerCase(Locale.ROOT);
+        Set<DataWithMediaType> mensaje;
+        try {
+            // Se serializa una sola vez para todos los suscriptores
+            mensaje = SseEmitter.event()
+                    .name(tipo)
+                    .id(String.valueOf(ticket.getIdTicket()))
+                    .data(objectMapper.writeValueAsString(TicketFeedEvent.builder().tipo(tipo).ticket(ticket).build()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el cambio del ticket {}", ticket.getIdTicket(), e);
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                enqueue(subscriber, mensaje);
+            }
+        }
+    }
+
+    // Mantiene viva la conexión a través de proxies y detecta clientes que ya se desconectaron
+    @Scheduled(fixedDelayString = "${tickets.feed.heartbeat-interval:PT15S}",
+            initialDelayString = "${tickets.feed.heartbeat-interval:PT15S}")
+    public void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, heartbeat);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> mensaje) {
+        if (!subscriber.queue.offer(mensaje)) {
+            disconnect(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> mensaje;
+            while ((mensaje = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(mensaje);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión o el emisor ya se completó
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Un mensaje encolado justo antes de liberar la bandera no debe quedar sin enviar
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.increment();
+            subscriber.queue.clear();
+            // complete() espera a que termine un envío en curso, así que no se llama desde el hilo del evento
+            executor.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long tecnicoId;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long tecnicoId, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.tecnicoId = tecnicoId;
+            this.queue = queue;
+        }
+
+        // Un técnico también recibe el cambio que le quita un ticket reasignado
+        private boolean matches(TicketChangedEvent event) {
+            return tecnicoId == null
+                    || (event.getAnterior() != null && Objects.equals(tecnicoId, event.getAnterior().getSoporteId()))
+                    || (event.getActual() != null && Objects.equals(tecnicoId, event.getActual().getSoporteId()));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.parcialfinalncapas.dto.response.TicketNotification;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.entities.TicketOutbox;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
+import com.uca.parcialfinalncapas.exceptions.UserNotFoundException;
+import com.uca.parcialfinalncapas.repository.TicketOutboxRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.repository.projection.UserSnapshot;
+import com.uca.parcialfinalncapas.service.TicketOutboxService;
+import com.uca.parcialfinalncapas.service.notification.NotificationSink;
+import com.uca.parcialfinalncapas.utils.enums.NotificationType;
+import com.uca.parcialfinalncapas.utils.enums.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outbox transaccional de notificaciones de tickets. La fila se escribe antes del commit del ticket,
+ * así que la notificación existe si y solo si el cambio se confirmó; la entrega ocurre después en segundo
+ * plano, por lotes, con reintentos y espera exponencial, sin sumar latencia a la solicitud.
+ */
+@Slf4j
+@Service
+public class TicketOutboxServiceImpl implements TicketOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TicketOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final NotificationSink notificationSink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public TicketOutboxServiceImpl(TicketOutboxRepository outboxRepository,
+                                   UserRepository userRepository,
+                                   NotificationSink notificationSink,
+                                   ObjectMapper objectMapper,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${tickets.outbox.batch-size:100}") int batchSize,
+                                   @Value("${tickets.outbox.max-attempts:8}") int maxAttempts,
+                                   @Value("${tickets.outbox.initial-backoff:PT10S}") Duration initialBackoff,
+                                   @Value("${tickets.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                                   @Value("${tickets.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.notificationSink = notificationSink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.sent = meterRegistry.counter("tickets.outbox.deliveries", "result", "sent");
+        this.retried = meterRegistry.counter("tickets.outbox.deliveries", "result", "retry");
+        this.failed = meterRegistry.counter("tickets.outbox.deliveries", "result", "failed");
+    }
+
+    // Corre dentro de la transacción del ticket: si la escritura falla, el cambio del ticket también se revierte
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTicketChanged(TicketChangedEvent event) {
+        NotificationType tipo = notificationType(event);
+        if (tipo == null) {
+            return;
+        }
+
+        TicketResponseList ticket = event.getActual();
+        LocalDateTime ahora = LocalDateTime.now();
+        outboxRepository.save(TicketOutbox.builder()
+                .tipo(tipo)
+                .ticketId(ticket.getIdTicket())
+                .tecnicoId(ticket.getSoporteId())
+                .payload(toJson(ticket))
+                .estado(OutboxStatus.PENDING)
+                .intentos(0)
+                .proximoIntento(ahora)
+                .creado(ahora)
+                .build());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${tickets.outbox.poll-interval:PT5S}",
+            initialDelayString = "${tickets.outbox.poll-interval:PT5S}")
+    public int dispatchPending() {
+        // Cada lote va en su propia transacción para no retener los bloqueos de todo el backlog
+        int total = 0;
+        int procesados;
+        do {
+            procesados = Objects.requireNonNull(transactionTemplate.execute(status -> dispatchBatch()));
+            total += procesados;
+        } while (procesados == batchSize);
+        return total;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${tickets.outbox.purge-interval:PT1H}",
+            initialDelayString = "${tickets.outbox.purge-interval:PT1H}")
+    @Transactional
+    public int purgeDelivered() {
+        return outboxRepository.deleteByEstadoAndCreadoBefore(OutboxStatus.SENT, LocalDateTime.now().minus(retention));
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<TicketOutbox> lote = outboxRepository.claimBatch(OutboxStatus.PENDING, ahora, Limit.of(batchSize));
+        for (TicketOutbox entrada : lote) {
+            entrada.setIntentos(entrada.getIntentos() + 1);
+            try {
+                notificationSink.send(toNotification(entrada));
+                entrada.setEstado(OutboxStatus.SENT);
+                entrada.setError(null);
+                sent.increment();
+            } catch (IOException | RuntimeException e) {
+                registerFailure(entrada, e, ahora);
+            }
+        }
+        return lote.size();
+    }
+
+    private void registerFailure(TicketOutbox entrada, Exception e, LocalDateTime ahora) {
+        String mensaje = String.valueOf(e.getMessage());
+        entrada.setError(mensaje.length() > MAX_ERROR_LENGTH ? mensaje.substring(0, MAX_ERROR_LENGTH) : mensaje);
+
+        if (entrada.getIntentos() >= maxAttempts) {
+            entrada.setEstado(OutboxStatus.FAILED);
+            failed.increment();
+            log.warn("Notificación {} del ticket {} descartada tras {} intentos: {}", entrada.getId(),
+                    entrada.getTicketId(), entrada.getIntentos(), mensaje);
+            return;
+        }
+
+        // 10s, 20s, 40s, ... hasta el máximo configurado
+        Duration espera = initialBackoff.multipliedBy(1L << Math.min(entrada.getIntentos() - 1, 30));
+        entrada.setProximoIntento(ahora.plus(espera.compareTo(maxBackoff) > 0 ? maxBackoff : espera));
+        retried.increment();
+    }
+
+    private TicketNotification toNotification(TicketOutbox entrada) throws IOException {
+        String correoSoporte = userRepository.findSnapshotById(entrada.getTecnicoId())
+                .map(UserSnapshot::correo)
+                .orElseThrow(() -> new UserNotFoundException("Usuario asignado no encontrado con ID: " + entrada.getTecnicoId()));
+        return TicketNotification.builder()
+                .id(entrada.getId())
+                .tipo(entrada.getTipo())
+                .correoSoporte(correoSoporte)
+                .ticket(objectMapper.readValue(entrada.getPayload(), TicketResponseList.class))
+                .build();
+    }
+
+    // Se notifica al técnico cuando recibe un ticket nuevo o uno reasignado desde otro técnico
+    private NotificationType notificationType(TicketChangedEvent event) {
+        TicketResponseList actual = event.getActual();
+        if (actual == null || actual.getSoporteId() == null) {
+            return null;
+        }
+        if (event.getType() == TicketChangedEvent.Type.CREATED) {
+            return NotificationType.TICKET_CREATED;
+        }
+        if (event.getType() == TicketChangedEvent.Type.UPDATED
+                && !Objects.equals(event.getAnterior().getSoporteId(), actual.getSoporteId())) {
+            return NotificationType.TICKET_REASSIGNED;
+        }
+        return null;
+    }
+
+    private String toJson(TicketResponseList ticket) {
+        try {
+            return objectMapper.writeValueAsString(ticket);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el ticket " + ticket.getIdTicket(), e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.service.TicketSearchService;
+import com.uca.parcialfinalncapas.service.search.TicketSearchEngine;
+import com.uca.parcialfinalncapas.service.search.TicketSearchHit;
+import com.uca.parcialfinalncapas.utils.CursorUtil;
+import com.uca.parcialfinalncapas.utils.CursorUtil.SearchPosition;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Valida y pagina las búsquedas de texto sobre tickets; la búsqueda la resuelve el TicketSearchEngine configurado.
+ * Los resultados se ordenan por relevancia y luego por ID, así que el cursor guarda ese par del último resultado
+ * y la siguiente página continúa desde ahí sin volver a recorrer las anteriores.
+ */
+@Service
+@AllArgsConstructor
+public class TicketSearchServiceImpl implements TicketSearchService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final TicketSearchEngine ticketSearchEngine;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketPageResponse search(String query, String cursor, int size) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new BadTicketRequestException("El texto de búsqueda debe tener entre 1 y " + MAX_QUERY_LENGTH + " caracteres");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadTicketRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        SearchPosition after = CursorUtil.decodeSearchPosition(cursor);
+        List<TicketSearchHit> resultados = ticketSearchEngine.search(query, size + 1, after);
+
+        boolean hasNext = resultados.size() > size;
+        List<TicketSearchHit> page = hasNext ? resultados.subList(0, size) : resultados;
+        List<TicketResponseList> tickets = page.stream().map(TicketSearchHit::ticket).toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            TicketSearchHit ultimo = page.getLast();
+            nextCursor = CursorUtil.encode(new SearchPosition(ultimo.rank(), ultimo.ticket().getIdTicket()));
+        }
+
+        return TicketPageResponse.builder()
+                .tickets(tickets)
+                .size(tickets.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -1,99 +1,378 @@
 package com.uca.parcialfinalncapas.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketBatchError;
+import com.uca.parcialfinalncapas.dto.response.TicketBatchResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
 import com.uca.parcialfinalncapas.dto.response.TicketResponse;
 import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
 import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.TicketTombstone;
 import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
 import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.exceptions.PreconditionFailedException;
 import com.uca.parcialfinalncapas.exceptions.TicketNotFoundException;
 import com.uca.parcialfinalncapas.exceptions.UserNotFoundException;
 import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.TicketSpecifications;
+import com.uca.parcialfinalncapas.repository.TicketTombstoneRepository;
 import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.repository.projection.UserSnapshot;
+import com.uca.parcialfinalncapas.service.TechnicianWorkloadService;
 import com.uca.parcialfinalncapas.service.TicketService;
+import com.uca.parcialfinalncapas.utils.CursorUtil;
+import com.uca.parcialfinalncapas.utils.CursorUtil.Watermark;
+import com.uca.parcialfinalncapas.utils.enums.ExportFormat;
 import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
 import com.uca.parcialfinalncapas.utils.mappers.TicketMapper;
-import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Esta clase implementa los servicios relacionados con los tickets.
  * Utiliza el TicketRepository para realizar operaciones de acceso a datos.
  */
 @Service
-@AllArgsConstructor
+@Observed(name = "tickets.service")
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String CSV_HEADER = "idTicket,titulo,descripcion,estado,fecha,solicitanteId,soporteId\n";
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TechnicianWorkloadService technicianWorkloadService;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+    // ObjectWriter es inmutable y seguro entre hilos: la exportación reutiliza el mismo en cada llamada
+    private final ObjectWriter exportWriter;
+
+    public TicketServiceImpl(TicketRepository ticketRepository, UserRepository userRepository,
+                             EntityManager entityManager, ObjectMapper objectMapper, Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             TechnicianWorkloadService technicianWorkloadService,
+                             TicketTombstoneRepository ticketTombstoneRepository) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.technicianWorkloadService = technicianWorkloadService;
+        this.ticketTombstoneRepository = ticketTombstoneRepository;
+        this.exportWriter = objectMapper.writerFor(TicketResponseList.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
 
     @Override
     @Transactional
     public TicketResponse createTicket(TicketCreateRequest ticket) {
-        var usuarioSolicitante = userRepository.findByCorreo(ticket.getCorreoUsuario())
+        var usuarioSolicitante = userRepository.findSnapshotByCorreo(ticket.getCorreoUsuario())
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con correo: " + ticket.getCorreoUsuario()));
 
-        var usuarioSoporte = userRepository.findByCorreo(ticket.getCorreoSoporte())
-                .orElseThrow(() -> new UserNotFoundException("Usuario asignado no encontrado con correo: " + ticket.getCorreoSoporte()));
+        UserSnapshot usuarioSoporte;
+        if (ticket.getCorreoSoporte() == null || ticket.getCorreoSoporte().isBlank()) {
+            usuarioSoporte = assignTechnician();
+        } else {
+            usuarioSoporte = userRepository.findSnapshotByCorreo(ticket.getCorreoSoporte())
+                    .orElseThrow(() -> new UserNotFoundException("Usuario asignado no encontrado con correo: " + ticket.getCorreoSoporte()));
 
-        if (!usuarioSoporte.getNombreRol().equals(Rol.TECH.getValue())) {
-            throw new BadTicketRequestException("El usuario asignado no es un técnico de soporte");
+            if (!usuarioSoporte.nombreRol().equals(Rol.TECH.getValue())) {
+                throw new BadTicketRequestException("El usuario asignado no es un técnico de soporte");
+            }
         }
 
-        var ticketGuardado = ticketRepository.save(TicketMapper.toEntityCreate(ticket, usuarioSolicitante.getId(), usuarioSoporte.getId()));
+        var ticketGuardado = ticketRepository.save(TicketMapper.toEntityCreate(ticket, usuarioSolicitante.id(), usuarioSoporte.id()));
+        eventPublisher.publishEvent(TicketChangedEvent.created(TicketMapper.toListDTO(ticketGuardado)));
 
-        return TicketMapper.toDTO(ticketGuardado, usuarioSolicitante.getCorreo(), usuarioSoporte.getCorreo());
+        return TicketMapper.toDTO(ticketGuardado, usuarioSolicitante.correo(), usuarioSoporte.correo());
+    }
+
+    // Elige al técnico con menos tickets activos, descartando los que ya no existen o dejaron de ser TECH
+    private UserSnapshot assignTechnician() {
+        Optional<Long> tecnicoId;
+        while ((tecnicoId = technicianWorkloadService.leastLoadedTechnician()).isPresent()) {
+            Optional<UserSnapshot> tecnico = userRepository.findSnapshotById(tecnicoId.get());
+            if (tecnico.isPresent() && Rol.TECH.getValue().equals(tecnico.get().nombreRol())) {
+                return tecnico.get();
+            }
+            technicianWorkloadService.remove(tecnicoId.get());
+        }
+        throw new BadTicketRequestException("No hay técnicos de soporte disponibles para asignar el ticket");
     }
 
     @Override
     @Transactional
-    public TicketResponse updateTicket(TicketUpdateRequest ticket) {
-        Ticket ticketExistente = ticketRepository.findById(ticket.getId())
+    public TicketBatchResponse createTickets(List<TicketCreateRequest> tickets) {
+        if (tickets == null || tickets.isEmpty() || tickets.size() > MAX_BATCH_SIZE) {
+            throw new BadTicketRequestException("El lote debe contener entre 1 y " + MAX_BATCH_SIZE + " tickets");
+        }
+
+        // Se resuelven todos los correos distintos del lote en una sola consulta IN
+        Set<String> correos = new HashSet<>();
+        for (TicketCreateRequest ticket : tickets) {
+            if (ticket != null) {
+                correos.add(ticket.getCorreoUsuario());
+                correos.add(ticket.getCorreoSoporte());
+            }
+        }
+        correos.remove(null);
+        Map<String, User> usuariosPorCorreo = userRepository.findByCorreoIn(correos).stream()
+                .collect(Collectors.toMap(User::getCorreo, Function.identity(), (a, b) -> a));
+
+        List<TicketBatchError> errores = new ArrayList<>();
+        List<Ticket> nuevos = new ArrayList<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            String error = validateBatchItem(tickets.get(i), usuariosPorCorreo);
+            if (error != null) {
+                errores.add(TicketBatchError.builder().indice(i).mensaje(error).build());
+                continue;
+            }
+            TicketCreateRequest ticket = tickets.get(i);
+            nuevos.add(TicketMapper.toEntityCreate(ticket,
+                    usuariosPorCorreo.get(ticket.getCorreoUsuario()).getId(),
+                    usuariosPorCorreo.get(ticket.getCorreoSoporte()).getId()));
+        }
+
+        // Con IDs de secuencia e hibernate.jdbc.batch_size los INSERT se envían por lotes
+        List<Ticket> guardados = ticketRepository.saveAll(nuevos);
+        ticketRepository.flush();
+        guardados.forEach(guardado -> eventPublisher.publishEvent(TicketChangedEvent.created(TicketMapper.toListDTO(guardado))));
+
+        Map<Long, String> correosPorId = usuariosPorCorreo.values().stream()
+                .collect(Collectors.toMap(User::getId, User::getCorreo));
+        List<TicketResponse> creados = guardados.stream()
+                .map(ticket -> TicketMapper.toDTO(ticket, correosPorId.get(ticket.getUsuarioId()),
+                        correosPorId.get(ticket.getTecnicoAsignadoId())))
+                .toList();
+
+        return TicketBatchResponse.builder()
+                .creados(creados)
+                .errores(errores)
+                .build();
+    }
+
+    private String validateBatchItem(TicketCreateRequest ticket, Map<String, User> usuariosPorCorreo) {
+        if (ticket == null) {
+            return "El ticket no puede ser nulo";
+        }
+
+        Set<ConstraintViolation<TicketCreateRequest>> violaciones = validator.validate(ticket);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream()
+                    .map(violacion -> violacion.getPropertyPath() + ": " + violacion.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        // La asignación automática no aplica en lotes: todos los tickets se confirmarían con la misma carga
+        if (ticket.getCorreoSoporte() == null || ticket.getCorreoSoporte().isBlank()) {
+            return "correoSoporte: Debe indicar el correo del técnico asignado";
+        }
+
+        if (!usuariosPorCorreo.containsKey(ticket.getCorreoUsuario())) {
+            return "Usuario no encontrado con correo: " + ticket.getCorreoUsuario();
+        }
+
+        User usuarioSoporte = usuariosPorCorreo.get(ticket.getCorreoSoporte());
+        if (usuarioSoporte == null) {
+            return "Usuario asignado no encontrado con correo: " + ticket.getCorreoSoporte();
+        }
+        if (!Rol.TECH.getValue().equals(usuarioSoporte.getNombreRol())) {
+            return "El usuario asignado no es un técnico de soporte";
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional
+    public TicketResponse updateTicket(TicketUpdateRequest ticket, Long expectedVersion) {
+        var ticketExistente = ticketRepository.findWithSolicitanteById(ticket.getId())
                 .orElseThrow(() -> new TicketNotFoundException("Ticket no encontrado con ID: " + ticket.getId()));
 
-        var usuarioSolicitante = userRepository.findById(ticketExistente.getUsuarioId())
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        if (ticketExistente.getCorreoSolicitante() == null) {
+            throw new UserNotFoundException("Usuario no encontrado");
+        }
 
-        var usuarioSoporte = userRepository.findByCorreo(ticket.getCorreoSoporte())
+        if (expectedVersion != null && !expectedVersion.equals(ticketExistente.getTicket().getVersion())) {
+            throw new PreconditionFailedException("El ticket fue modificado por otra solicitud");
+        }
+
+        var usuarioSoporte = userRepository.findSnapshotByCorreo(ticket.getCorreoSoporte())
                 .orElseThrow(() -> new UserNotFoundException("Usuario asignado no encontrado con correo: " + ticket.getCorreoSoporte()));
 
-        if (!usuarioSoporte.getNombreRol().equals(Rol.TECH.getValue())) {
+        if (!usuarioSoporte.nombreRol().equals(Rol.TECH.getValue())) {
             throw new BadTicketRequestException("El usuario asignado no es un técnico de soporte");
         }
 
-        var ticketGuardado = ticketRepository.save(TicketMapper.toEntityUpdate(ticket, usuarioSoporte.getId(), ticketExistente));
+        // El merge modifica el ticket administrado, así que el estado anterior se copia antes de guardar.
+        // Se hace flush para que la versión incrementada llegue al ETag de la respuesta
+        var anterior = TicketMapper.toListDTO(ticketExistente.getTicket());
+        var ticketGuardado = ticketRepository.saveAndFlush(TicketMapper.toEntityUpdate(ticket, usuarioSoporte.id(), ticketExistente.getTicket()));
+        eventPublisher.publishEvent(TicketChangedEvent.updated(anterior, TicketMapper.toListDTO(ticketGuardado)));
 
-        return TicketMapper.toDTO(ticketGuardado, usuarioSolicitante.getCorreo(), usuarioSoporte.getCorreo());
+        return TicketMapper.toDTO(ticketGuardado, ticketExistente.getCorreoSolicitante(), usuarioSoporte.correo());
     }
 
     @Override
+    @Transactional
     public void deleteTicket(Long id) {
         var ticketExistente = ticketRepository.findById(id)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket no encontrado con ID: " + id));
 
         ticketRepository.delete(ticketExistente);
+        // La baja queda registrada para que la sincronización incremental la informe
+        ticketTombstoneRepository.save(TicketTombstone.builder()
+                .ticketId(ticketExistente.getId())
+                .fechaEliminacion(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(TicketChangedEvent.deleted(TicketMapper.toListDTO(ticketExistente)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TicketResponse getTicketById(Long id) {
-    var ticketExistente = ticketRepository.findById(id)
-            .orElseThrow(() -> new TicketNotFoundException("Ticket no encontrado con ID: " + id));
+        var ticketExistente = ticketRepository.findDetailById(id)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket no encontrado con ID: " + id));
+
+        if (ticketExistente.getCorreoSolicitante() == null) {
+            throw new UserNotFoundException("Usuario no encontrado");
+        }
+        if (ticketExistente.getCorreoSoporte() == null) {
+            throw new UserNotFoundException("Usuario asignado no encontrado");
+        }
+
+        return TicketMapper.toDTO(ticketExistente);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTicketVersion(Long id) {
+        return ticketRepository.findVersionById(id)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket no encontrado con ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketPageResponse getTickets(String cursor, int size, String estado, Long usuarioId, Long tecnicoAsignadoId) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadTicketRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
 
-    var usuarioSolicitante = userRepository.findById(ticketExistente.getUsuarioId())
-            .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+        Specification<Ticket> filtros = TicketSpecifications.listado(CursorUtil.decodePosition(cursor),
+                toEstadoDescription(estado), usuarioId, tecnicoAsignadoId);
+        List<Ticket> tickets = ticketRepository.findBy(filtros,
+                query -> query.sortBy(TicketSpecifications.ORDEN_LISTADO).limit(size + 1).all());
 
-    var usuarioSoporte = userRepository.findById(ticketExistente.getTecnicoAsignadoId())
-            .orElseThrow(() -> new UserNotFoundException("Usuario asignado no encontrado"));
+        boolean hasNext = tickets.size() > size;
+        List<Ticket> page = hasNext ? tickets.subList(0, size) : tickets;
 
-        return TicketMapper.toDTO(ticketExistente, usuarioSolicitante.getCorreo(), usuarioSoporte.getCorreo());
+        return TicketPageResponse.builder()
+                .tickets(TicketMapper.toDTOList(page))
+                .size(page.size())
+                .nextCursor(hasNext ? CursorUtil.encode(posicion(page.get(page.size() - 1))) : null)
+                .build();
+    }
+
+    private static Watermark posicion(Ticket ticket) {
+        return new Watermark(ticket.getFecha(), ticket.getId());
     }
 
     @Override
-    public List<TicketResponseList> getAllTickets() {
-        return TicketMapper.toDTOList(ticketRepository.findAll());
+    @Transactional(readOnly = true)
+    public void exportTickets(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                TicketResponseList row = TicketMapper.toListDTO(ticket);
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    exportWriter.writeValue(writer, row);
+                    writer.write('\n');
+                }
+                // Se libera el ticket del contexto de persistencia para mantener la memoria acotada
+                entityManager.detach(ticket);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, TicketResponseList row) throws IOException {
+        writer.write(String.valueOf(row.getIdTicket()));
+        writer.write(',');
+        writer.write(escapeCsv(row.getTitulo()));
+        writer.write(',');
+        writer.write(escapeCsv(row.getDescripcion()));
+        writer.write(',');
+        writer.write(escapeCsv(row.getEstado()));
+        writer.write(',');
+        writer.write(escapeCsv(row.getFecha()));
+        writer.write(',');
+        writer.write(row.getSolicitanteId() != null ? row.getSolicitanteId().toString() : "");
+        writer.write(',');
+        writer.write(row.getSoporteId() != null ? row.getSoporteId().toString() : "");
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private String toEstadoDescription(String estado) {
+        if (estado == null || estado.isBlank()) {
+            return null;
+        }
+        try {
+            return State.valueOf(estado).getDescription();
+        } catch (IllegalArgumentException e) {
+            throw new BadTicketRequestException("Estado de ticket inválido: " + estado);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.uca.parcialfinalncapas.service.impl;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.dto.response.TicketStatsResponse;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.projection.TicketCountView;
+import com.uca.parcialfinalncapas.service.TicketStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantiene contadores de tickets en memoria que se actualizan con cada TicketChangedEvent
+ * y se concilian periódicamente contra la base de datos.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketStatsServiceImpl implements TicketStatsService {
+
+    private final TicketRepository ticketRepository;
+
+    private volatile Counters counters = new Counters();
+
+    @Override
+    public TicketStatsResponse getStats() {
+        Counters actuales = counters;
+        return TicketStatsResponse.builder()
+                .total(actuales.total.sum())
+                .porEstado(snapshot(actuales.porEstado))
+                .porTecnico(snapshot(actuales.porTecnico))
+                .porSolicitante(snapshot(actuales.porSolicitante))
+                .build();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${tickets.stats.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Counters recalculados = new Counters();
+        load(recalculados.porEstado, ticketRepository.countByEstado());
+        load(recalculados.porTecnico, ticketRepository.countByTecnicoAsignado());
+        load(recalculados.porSolicitante, ticketRepository.countByUsuario());
+        recalculados.total.add(ticketRepository.count());
+        // Los cambios confirmados mientras corren las consultas pueden perderse hasta la próxima conciliación
+        counters = recalculados;
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        Counters actuales = counters;
+        if (event.getAnterior() != null) {
+            actuales.add(event.getAnterior(), -1);
+        }
+        if (event.getActual() != null) {
+            actuales.add(event.getActual(), 1);
+        }
+    }
+
+    private static void load(Map<String, LongAdder> destino, List<TicketCountView> conteos) {
+        for (TicketCountView conteo : conteos) {
+            if (conteo.getClave() != null) {
+                destino.computeIfAbsent(conteo.getClave(), clave -> new LongAdder()).add(conteo.getTotal());
+            }
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> contadores) {
+        Map<String, Long> resultado = new TreeMap<>();
+        contadores.forEach((clave, contador) -> {
+            long valor = contador.sum();
+            if (valor > 0) {
+                resultado.put(clave, valor);
+            }
+        });
+        return resultado;
+    }
+
+    private static class Counters {
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> porEstado = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porTecnico = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porSolicitante = new ConcurrentHashMap<>();
+
+        private void add(TicketResponseList ticket, long delta) {
+            total.add(delta);
+            increment(porEstado, ticket.getEstado(), delta);
+            increment(porTecnico, ticket.getSoporteId(), delta);
+            increment(porSolicitante, ticket.getSolicitanteId(), delta);
+        }
+
+        private static void increment(Map<String, LongAdder> contadores, Object clave, long delta) {
+            if (clave != null) {
+                contadores.computeIfAbsent(clave.toString(), k -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
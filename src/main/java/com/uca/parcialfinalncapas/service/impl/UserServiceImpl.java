@@ -1,58 +1,166 @@
 package com.uca.parcialfinalncapas.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.uca.parcialfinalncapas.config.CacheConfig;
 import com.uca.parcialfinalncapas.dto.request.UserCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.UserUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.UserResponse;
 import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.exceptions.UserAlreadyExistsException;
 import com.uca.parcialfinalncapas.exceptions.UserNotFoundException;
 import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.repository.projection.UserView;
+import com.uca.parcialfinalncapas.service.TechnicianWorkloadService;
 import com.uca.parcialfinalncapas.service.UserService;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
 import com.uca.parcialfinalncapas.utils.mappers.UserMapper;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
 import java.util.List;
 
 @Service
 @AllArgsConstructor
+@Observed(name = "users.service")
 public class UserServiceImpl implements UserService {
+    private static final int PAGE_SIZE = 500;
+    private static final String CORREO_UNICO = "ux_usuarios_correo";
+
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final TechnicianWorkloadService technicianWorkloadService;
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse findByCorreo(String correo) {
-        return UserMapper.toDTO(userRepository.findByCorreo(correo)
+        return UserMapper.toDTO(userRepository.findSnapshotByCorreo(correo)
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con correo: " + correo)));
     }
 
     @Override
+    @Transactional
     public UserResponse save(UserCreateRequest user) {
-
-        if (userRepository.findByCorreo(user.getCorreo()).isPresent()) {
-            throw new UserNotFoundException("Ya existe un usuario con el correo: " + user.getCorreo());
+        User guardado;
+        try {
+            // El índice único ux_usuarios_correo rechaza el duplicado sin una consulta previa
+            guardado = userRepository.saveAndFlush(UserMapper.toEntityCreate(user));
+        } catch (DataIntegrityViolationException e) {
+            // Cualquier otra restricción llega al manejador genérico de GlobalExceptionHandler
+            if (!violaCorreoUnico(e)) {
+                throw e;
+            }
+            throw new UserAlreadyExistsException("Ya existe un usuario con el correo: " + user.getCorreo());
         }
-
-        return UserMapper.toDTO(userRepository.save(UserMapper.toEntityCreate(user)));
+        evictFromCache(guardado);
+        syncWorkload(guardado);
+        return UserMapper.toDTO(guardado);
     }
 
     @Override
+    @Transactional
     public UserResponse update(UserUpdateRequest user) {
-        if (userRepository.findById(user.getId()).isEmpty()) {
-            throw new UserNotFoundException("No se encontró un usuario con el ID: " + user.getId());
-        }
+        // La escritura parte de la fila de la base, nunca de la caché, para copiar la versión vigente
+        User existente = userRepository.findById(user.getId())
+                .orElseThrow(() -> new UserNotFoundException("No se encontró un usuario con el ID: " + user.getId()));
 
-        return UserMapper.toDTO(userRepository.save(UserMapper.toEntityUpdate(user)));
+        User actualizado = userRepository.save(UserMapper.toEntityUpdate(user, existente));
+        evictFromCache(existente);
+        evictFromCache(actualizado);
+        syncWorkload(actualizado);
+        return UserMapper.toDTO(actualizado);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (userRepository.findById(id).isEmpty()) {
-            throw new UserNotFoundException("No se encontró un usuario con el ID: " + id);
-        }
+        User existente = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("No se encontró un usuario con el ID: " + id));
         userRepository.deleteById(id);
+        // Con tickets asociados la clave foránea falla aquí, antes de tocar la caché y la carga de los técnicos
+        userRepository.flush();
+        evictFromCache(existente);
+        technicianWorkloadService.remove(id);
     }
 
     @Override
-    public List<UserResponse> findAll() {
-        return UserMapper.toDTOList(userRepository.findAll());
+    @Transactional(readOnly = true)
+    public void writeAll(JsonGenerator generator) throws IOException {
+        // Páginas de una proyección por keyset: cada consulta es corta y no se cargan entidades administradas
+        generator.writeStartArray();
+        List<UserView> pagina = userRepository.findPageAfter(0L, Limit.of(PAGE_SIZE));
+        while (!pagina.isEmpty()) {
+            for (UserView user : pagina) {
+                generator.writeObject(UserMapper.toDTO(user));
+            }
+            // Se envía cada página al cliente antes de leer la siguiente
+            generator.flush();
+            if (pagina.size() < PAGE_SIZE) {
+                break;
+            }
+            pagina = userRepository.findPageAfter(pagina.get(pagina.size() - 1).getId(), Limit.of(PAGE_SIZE));
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasUsers() {
+        return !userRepository.findPageAfter(0L, Limit.of(1)).isEmpty();
+    }
+
+    private static boolean violaCorreoUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion) {
+                return CORREO_UNICO.equalsIgnoreCase(violacion.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    // Mantiene la lista de técnicos de la asignación automática al día con el rol del usuario
+    private void syncWorkload(User user) {
+        if (Rol.TECH.getValue().equals(user.getNombreRol())) {
+            technicianWorkloadService.register(user.getId());
+        } else {
+            technicianWorkloadService.remove(user.getId());
+        }
+    }
+
+    // Invalida las entradas de la caché de usuarios por ID y por correo cuando la transacción se confirma.
+    // Si se invalidaran antes, una lectura concurrente podría volver a guardar la fila anterior al commit
+    private void evictFromCache(User user) {
+        Long id = user.getId();
+        String correo = user.getCorreo();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id, correo);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id, correo);
+            }
+        });
+    }
+
+    private void evict(Long id, String correo) {
+        Cache porId = cacheManager.getCache(CacheConfig.USERS_BY_ID);
+        if (porId != null && id != null) {
+            porId.evict(id);
+        }
+        Cache porCorreo = cacheManager.getCache(CacheConfig.USERS_BY_CORREO);
+        if (porCorreo != null && correo != null) {
+            porCorreo.evict(correo);
+        }
     }
 }
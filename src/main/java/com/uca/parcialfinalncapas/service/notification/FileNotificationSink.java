@@ -0,0 +1,36 @@
+package com.uca.parcialfinalncapas.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.parcialfinalncapas.dto.response.TicketNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Agrega cada notificación como una línea JSON a un archivo local, útil para pruebas.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.outbox.sink", havingValue = "file")
+public class FileNotificationSink implements NotificationSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileNotificationSink(ObjectMapper objectMapper,
+                                @Value("${tickets.outbox.file-path:notifications.ndjson}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void send(TicketNotification notification) throws IOException {
+        String line = objectMapper.writeValueAsString(notification) + "\n";
+        Files.writeString(path, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,21 @@
+package com.uca.parcialfinalncapas.service.notification;
+
+import com.uca.parcialfinalncapas.dto.response.TicketNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra las notificaciones en el log; es el destino por defecto mientras no haya correo ni webhooks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tickets.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogNotificationSink implements NotificationSink {
+
+    @Override
+    public void send(TicketNotification notification) {
+        log.info("Notificación {} del ticket {} para {}", notification.getTipo(),
+                notification.getTicket().getIdTicket(), notification.getCorreoSoporte());
+    }
+}
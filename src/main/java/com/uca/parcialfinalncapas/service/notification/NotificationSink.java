@@ -0,0 +1,19 @@
+package com.uca.parcialfinalncapas.service.notification;
+
+import com.uca.parcialfinalncapas.dto.response.TicketNotification;
+
+import java.io.IOException;
+
+/**
+ * Destino de las notificaciones de tickets. Se elige con la propiedad tickets.outbox.sink.
+ * La entrega es al menos una vez: ante un error se reintenta, así que el destino debe tolerar duplicados.
+ */
+public interface NotificationSink {
+    /**
+     * Entrega una notificación.
+     *
+     * @param notification la notificación a entregar
+     * @throws IOException si la entrega falla y debe reintentarse
+     */
+    void send(TicketNotification notification) throws IOException;
+}
@@ -0,0 +1,167 @@
+package com.uca.parcialfinalncapas.service.search;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.events.TicketChangedEvent;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.utils.CursorUtil.SearchPosition;
+import com.uca.parcialfinalncapas.utils.mappers.TicketMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria para las bases embebidas que no tienen búsqueda de texto completo.
+ * Se construye al arrancar y se mantiene con cada TicketChangedEvent confirmado.
+ * Los términos del título pesan el doble que los de la descripción; no aplica stemming.
+ * Guarda todos los tickets en el heap, por eso solo se registra en los perfiles dev y test.
+ */
+@Component
+@Profile({"dev", "test"})
+@ConditionalOnProperty(name = "tickets.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryTicketSearchEngine implements TicketSearchEngine {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final int PESO_TITULO = 2;
+    private static final int PESO_DESCRIPCION = 1;
+
+    private final TicketRepository ticketRepository;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, TicketResponseList> tickets = new HashMap<>();
+    private final Map<Long, Set<String>> terminosPorTicket = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tickets.clear();
+            terminosPorTicket.clear();
+            // El Stream mantiene abierto el cursor JDBC hasta que se cierra
+            try (Stream<Ticket> todos = ticketRepository.streamAll()) {
+                todos.forEach(ticket -> index(TicketMapper.toListDTO(ticket)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getAnterior() != null) {
+                remove(event.getAnterior().getIdTicket());
+            }
+            if (event.getActual() != null) {
+                index(event.getActual());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TicketSearchHit> search(String query, int limit, SearchPosition after) {
+        Set<String> terminos = tokenize(query).keySet();
+        if (terminos.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Intersección de las listas de cada término, sumando los pesos como puntaje
+            Map<Long, Integer> puntajes = null;
+            for (String termino : terminos) {
+                Map<Long, Integer> lista = postings.getOrDefault(termino, Map.of());
+                if (puntajes == null) {
+                    puntajes = new HashMap<>(lista);
+                } else {
+                    puntajes.keySet().retainAll(lista.keySet());
+                    puntajes.replaceAll((id, puntaje) -> puntaje + lista.get(id));
+                }
+            }
+
+            return puntajes.entrySet().stream()
+                    .filter(entry -> after == null || despuesDe(entry.getValue(), entry.getKey(), after))
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .limit(limit)
+                    .map(entry -> new TicketSearchHit(tickets.get(entry.getKey()), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mismo orden que la búsqueda: puntaje descendente y luego ID descendente
+    private static boolean despuesDe(int puntaje, Long id, SearchPosition after) {
+        return puntaje < after.rank() || (puntaje == after.rank() && id < after.id());
+    }
+
+    private void index(TicketResponseList ticket) {
+        Map<String, Integer> pesos = tokenize(ticket.getTitulo());
+        pesos.replaceAll((termino, frecuencia) -> frecuencia * PESO_TITULO);
+        tokenize(ticket.getDescripcion()).forEach((termino, frecuencia) ->
+                pesos.merge(termino, frecuencia * PESO_DESCRIPCION, Integer::sum));
+
+        pesos.forEach((termino, peso) -> postings.computeIfAbsent(termino, t -> new HashMap<>()).put(ticket.getIdTicket(), peso));
+        tickets.put(ticket.getIdTicket(), ticket);
+        terminosPorTicket.put(ticket.getIdTicket(), pesos.keySet());
+    }
+
+    private void remove(Long ticketId) {
+        Set<String> terminos = terminosPorTicket.remove(ticketId);
+        tickets.remove(ticketId);
+        if (terminos == null) {
+            return;
+        }
+        for (String termino : terminos) {
+            Map<Long, Integer> lista = postings.get(termino);
+            if (lista != null) {
+                lista.remove(ticketId);
+                if (lista.isEmpty()) {
+                    postings.remove(termino);
+                }
+            }
+        }
+    }
+
+    // Minúsculas, sin tildes y separado por caracteres que no son letras ni números
+    private static Map<String, Integer> tokenize(String texto) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        if (texto == null) {
+            return frecuencias;
+        }
+        String normalizado = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String termino : SEPARADORES.split(normalizado)) {
+            if (termino.length() > 1) {
+                frecuencias.merge(termino, 1, Integer::sum);
+            }
+        }
+        return frecuencias;
+    }
+}
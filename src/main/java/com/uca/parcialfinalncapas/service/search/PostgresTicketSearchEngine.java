@@ -0,0 +1,34 @@
+package com.uca.parcialfinalncapas.service.search;
+
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.projection.TicketSearchView;
+import com.uca.parcialfinalncapas.utils.CursorUtil.SearchPosition;
+import com.uca.parcialfinalncapas.utils.mappers.TicketMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Búsqueda con el motor de texto completo de PostgreSQL sobre un índice GIN de expresión
+ * (idx_tickets_fts, creado por la migración V1). Las páginas siguientes continúan desde (ts_rank, id)
+ * del último resultado, así que cada página solo ordena los tickets que coinciden y no vuelve a recorrer las anteriores.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresTicketSearchEngine implements TicketSearchEngine {
+
+    private final TicketRepository ticketRepository;
+
+    @Override
+    public List<TicketSearchHit> search(String query, int limit, SearchPosition after) {
+        List<TicketSearchView> resultados = after == null
+                ? ticketRepository.searchFullText(query, limit)
+                : ticketRepository.searchFullTextAfter(query, after.rank(), after.id(), limit);
+        return resultados.stream()
+                .map(view -> new TicketSearchHit(TicketMapper.toListDTO(view), view.getRango()))
+                .toList();
+    }
+}
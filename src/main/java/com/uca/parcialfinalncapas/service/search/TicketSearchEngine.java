@@ -0,0 +1,21 @@
+package com.uca.parcialfinalncapas.service.search;
+
+import com.uca.parcialfinalncapas.utils.CursorUtil.SearchPosition;
+
+import java.util.List;
+
+/**
+ * Motor de búsqueda de texto sobre los tickets. Se elige con la propiedad tickets.search.engine:
+ * postgres (tsvector + índice GIN, por defecto) o memory (índice invertido en memoria, solo en los perfiles dev y test).
+ */
+public interface TicketSearchEngine {
+    /**
+     * Busca los tickets que contienen todos los términos de la consulta.
+     *
+     * @param query el texto a buscar
+     * @param limit la cantidad máxima de resultados
+     * @param after la posición del último resultado entregado, o null para empezar desde el primero
+     * @return los tickets que siguen a esa posición, ordenados por relevancia y luego por ID descendente
+     */
+    List<TicketSearchHit> search(String query, int limit, SearchPosition after);
+}
@@ -0,0 +1,9 @@
+package com.uca.parcialfinalncapas.service.search;
+
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+
+/**
+ * Ticket encontrado junto con la relevancia con la que el motor lo ordenó.
+ */
+public record TicketSearchHit(TicketResponseList ticket, float rank) {
+}
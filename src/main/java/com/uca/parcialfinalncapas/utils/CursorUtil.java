@@ -0,0 +1,75 @@
+package com.uca.parcialfinalncapas.utils;
+
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Clase para codificar y decodificar los cursores opacos de la paginación por keyset
+public class CursorUtil {
+
+    private static final char WATERMARK_SEPARATOR = '|';
+
+    // Posición en un recorrido por keyset: fecha (de creación o del cambio) y ID del ticket para desempatar
+    public record Watermark(LocalDateTime fecha, Long id) {
+    }
+
+    // Posición en los resultados de una búsqueda: relevancia del ticket y su ID para desempatar
+    public record SearchPosition(float rank, Long id) {
+    }
+
+    private CursorUtil() {
+    }
+
+    // Metodo para convertir la marca del último cambio entregado en un cursor de sincronización
+    public static String encode(Watermark watermark) {
+        String value = watermark.fecha().toString() + WATERMARK_SEPARATOR + watermark.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Metodo para convertir la posición del último resultado de una búsqueda en un cursor opaco
+    public static String encode(SearchPosition position) {
+        // Float.toString devuelve el valor exacto del float, así el cursor repite la misma comparación en la base
+        String value = Float.toString(position.rank()) + WATERMARK_SEPARATOR + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Metodo para obtener la posición contenida en un cursor de búsqueda, o null si no se envió cursor
+    public static SearchPosition decodeSearchPosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(WATERMARK_SEPARATOR);
+            return new SearchPosition(Float.parseFloat(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadTicketRequestException("Cursor de búsqueda inválido");
+        }
+    }
+
+    // Metodo para obtener la marca contenida en un cursor de sincronización, o null si no se envió cursor
+    public static Watermark decodeWatermark(String cursor) {
+        return decodeWatermark(cursor, "Cursor de sincronización inválido");
+    }
+
+    // Metodo para obtener la posición (fecha, id) contenida en un cursor de paginación, o null si no se envió cursor
+    public static Watermark decodePosition(String cursor) {
+        return decodeWatermark(cursor, "Cursor de paginación inválido");
+    }
+
+    private static Watermark decodeWatermark(String cursor, String error) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(WATERMARK_SEPARATOR);
+            return new Watermark(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadTicketRequestException(error);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.uca.parcialfinalncapas.utils;
+
+import com.uca.parcialfinalncapas.exceptions.PreconditionFailedException;
+
+// Clase para generar e interpretar los ETag fuertes de tickets y usuarios a partir de su versión
+public class ETagUtil {
+    private static final String TICKET_PREFIX = "t-";
+    private static final String USER_PREFIX = "u-";
+    private static final String VERSION_SEPARATOR = "-v";
+
+    // Metodo para generar el ETag de un ticket
+    public static String forTicket(Long id, Long version) {
+        return build(TICKET_PREFIX, id, version);
+    }
+
+    // Metodo para generar el ETag de un usuario
+    public static String forUser(Long id, Long version) {
+        return build(USER_PREFIX, id, version);
+    }
+
+    /**
+     * Obtiene la versión esperada del ticket a partir del encabezado If-Match.
+     * Devuelve null si no hay encabezado o si es "*"; los ETag débiles o de otro recurso no coinciden.
+     */
+    public static Long parseTicketVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String expectedPrefix = "\"" + TICKET_PREFIX + id + VERSION_SEPARATOR;
+        for (String eTag : ifMatch.split(",")) {
+            eTag = eTag.trim();
+            if (eTag.startsWith(expectedPrefix) && eTag.endsWith("\"")) {
+                try {
+                    return Long.parseLong(eTag.substring(expectedPrefix.length(), eTag.length() - 1));
+                } catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        throw new PreconditionFailedException("El encabezado If-Match no corresponde a la versión actual del ticket");
+    }
+
+    private static String build(String prefix, Long id, Long version) {
+        return "\"" + prefix + id + VERSION_SEPARATOR + (version != null ? version : 0) + "\"";
+    }
+}
@@ -1,35 +1,87 @@
 package com.uca.parcialfinalncapas.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uca.parcialfinalncapas.dto.response.ErrorResponse;
 import com.uca.parcialfinalncapas.dto.response.GeneralResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 
 // Clase para construir respuestas de error y éxito de manera uniforme
 public class ResponseBuilderUtil {
+
     // Metodo para construir una respuesta de error
     public static ResponseEntity<ErrorResponse> buildErrorResponse(Exception e, HttpStatus status, Object data) {
-        String uri = ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath();
         return ResponseEntity.status(status).body(ErrorResponse.builder()
                 .message(data)
                 .status(status.value())
                 .time(LocalDate.now())
-                .uri(uri)
+                .uri(currentUri())
                 .build());
     }
 
     // Metodo para construir una respuesta general de éxito
-    public static ResponseEntity<GeneralResponse> buildResponse(String message, HttpStatus status, Object data) {
-        String uri = ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath();
-        return ResponseEntity.status(status).body(GeneralResponse.builder()
+    public static <T> ResponseEntity<GeneralResponse<T>> buildResponse(String message, HttpStatus status, T data) {
+        return ResponseEntity.status(status).body(body(message, status, data));
+    }
+
+    // Metodo para construir una respuesta de éxito con ETag; Spring responde 304 si coincide con If-None-Match
+    public static <T> ResponseEntity<GeneralResponse<T>> buildResponse(String message, HttpStatus status, T data, String eTag) {
+        return ResponseEntity.status(status).eTag(eTag).body(body(message, status, data));
+    }
+
+    // Metodo para construir una respuesta general de éxito cuyo campo data se escribe mientras se envía.
+    // La uri se toma aquí porque el cuerpo se escribe en otro hilo, sin la solicitud en RequestContextHolder
+    public static ResponseEntity<StreamingResponseBody> buildStreamingResponse(ObjectMapper objectMapper, String message,
+                                                                               HttpStatus status, DataWriter data) {
+        String uri = currentUri();
+        StreamingResponseBody body = outputStream -> {
+            // El contenedor cierra el flujo de la respuesta; el generador solo vacía su búfer
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                    .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)) {
+                generator.writeStartObject();
+                generator.writeStringField("uri", uri);
+                generator.writeStringField("message", message);
+                generator.writeNumberField("status", status.value());
+                generator.writeObjectField("time", LocalDate.now());
+                generator.writeFieldName("data");
+                data.write(generator);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Escribe el valor del campo data de una respuesta por streaming
+    @FunctionalInterface
+    public interface DataWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static <T> GeneralResponse<T> body(String message, HttpStatus status, T data) {
+        return GeneralResponse.<T>builder()
                 .message(message)
                 .status(status.value())
                 .data(data)
-                .uri(uri)
+                .uri(currentUri())
                 .time(LocalDate.now())
-                .build());
+                .build();
+    }
+
+    // La ruta se toma tal cual de la solicitud en curso, sin volver a parsear la URL completa
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRequestURI();
+        }
+        return null;
     }
 }
@@ -0,0 +1,27 @@
+package com.uca.parcialfinalncapas.utils.enums;
+
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import lombok.Getter;
+
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadTicketRequestException("Formato de exportación no soportado: " + value);
+    }
+}
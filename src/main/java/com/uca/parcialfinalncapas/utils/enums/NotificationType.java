@@ -0,0 +1,6 @@
+package com.uca.parcialfinalncapas.utils.enums;
+
+public enum NotificationType {
+    TICKET_CREATED,
+    TICKET_REASSIGNED
+}
@@ -0,0 +1,7 @@
+package com.uca.parcialfinalncapas.utils.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -5,6 +5,8 @@ import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.TicketResponse;
 import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
 import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.repository.projection.TicketDetailView;
+import com.uca.parcialfinalncapas.repository.projection.TicketSearchView;
 import com.uca.parcialfinalncapas.utils.enums.State;
 
 import java.time.LocalDateTime;
@@ -38,7 +40,8 @@ public class TicketMapper {
                         : ticketOriginal.getEstado())
                 .tecnicoAsignadoId(tecnicoAsignadoId != null ? tecnicoAsignadoId : ticketOriginal.getTecnicoAsignadoId())
                 .usuarioId(ticketOriginal.getUsuarioId())
-                .fecha(LocalDateTime.now())
+                .fecha(ticketOriginal.getFecha())
+                .version(ticketOriginal.getVersion())
                 .build();
     }
 
@@ -48,21 +51,55 @@ public class TicketMapper {
                 .titulo(ticket.getTitulo())
                 .descripcion(ticket.getDescripcion())
                 .estado(ticket.getEstado())
+                .fecha(ticket.getFecha() != null ? ticket.getFecha().toLocalDate() : null)
                 .correoSoporte(correoSoporte)
                 .correoSolicitante(correoUsuario)
+                .version(ticket.getVersion())
+                .build();
+    }
+
+    public static TicketResponse toDTO(TicketDetailView ticket) {
+        return TicketResponse.builder()
+                .idTicket(ticket.getId())
+                .titulo(ticket.getTitulo())
+                .descripcion(ticket.getDescripcion())
+                .estado(ticket.getEstado())
+                .fecha(ticket.getFecha() != null ? ticket.getFecha().toLocalDate() : null)
+                .correoSoporte(ticket.getCorreoSoporte())
+                .correoSolicitante(ticket.getCorreoSolicitante())
+                .version(ticket.getVersion())
+                .build();
+    }
+
+    public static TicketResponseList toListDTO(Ticket ticket) {
+        return TicketResponseList.builder()
+                .idTicket(ticket.getId())
+                .titulo(ticket.getTitulo())
+                .descripcion(ticket.getDescripcion())
+                .estado(ticket.getEstado())
+                .fecha(ticket.getFecha() != null ? ticket.getFecha().toString() : null)
+                .fechaActualizacion(ticket.getFechaActualizacion() != null ? ticket.getFechaActualizacion().toString() : null)
+                .solicitanteId(ticket.getUsuarioId())
+                .soporteId(ticket.getTecnicoAsignadoId())
+                .build();
+    }
+
+    public static TicketResponseList toListDTO(TicketSearchView ticket) {
+        return TicketResponseList.builder()
+                .idTicket(ticket.getId())
+                .titulo(ticket.getTitulo())
+                .descripcion(ticket.getDescripcion())
+                .estado(ticket.getEstado())
+                .fecha(ticket.getFecha() != null ? ticket.getFecha().toString() : null)
+                .fechaActualizacion(ticket.getFechaActualizacion() != null ? ticket.getFechaActualizacion().toString() : null)
+                .solicitanteId(ticket.getUsuarioId())
+                .soporteId(ticket.getTecnicoAsignadoId())
                 .build();
     }
 
     public static List<TicketResponseList> toDTOList(List<Ticket> tickets) {
         return tickets.stream()
-                .map(ticket -> TicketResponseList.builder()
-                        .idTicket(ticket.getId())
-                        .titulo(ticket.getTitulo())
-                        .descripcion(ticket.getDescripcion())
-                        .estado(ticket.getEstado())
-                        .solicitanteId(ticket.getUsuarioId())
-                        .soporteId(ticket.getTecnicoAsignadoId())
-                        .build())
+                .map(TicketMapper::toListDTO)
                 .toList();
     }
 }
@@ -4,6 +4,8 @@ import com.uca.parcialfinalncapas.dto.request.UserCreateRequest;
 import com.uca.parcialfinalncapas.dto.request.UserUpdateRequest;
 import com.uca.parcialfinalncapas.dto.response.UserResponse;
 import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.projection.UserSnapshot;
+import com.uca.parcialfinalncapas.repository.projection.UserView;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,12 +20,13 @@ public class UserMapper {
                 .build();
     }
 
-    public static User toEntityUpdate(UserUpdateRequest userUpdate) {
+    public static User toEntityUpdate(UserUpdateRequest userUpdate, User usuarioOriginal) {
         return User.builder()
                 .id(userUpdate.getId())
                 .nombre(userUpdate.getNombre())
                 .password(userUpdate.getPassword())
                 .nombreRol(userUpdate.getNombreRol())
+                .version(usuarioOriginal.getVersion())
                 .build();
     }
 
@@ -33,6 +36,27 @@ public class UserMapper {
                 .nombre(user.getNombre())
                 .correo(user.getCorreo())
                 .nombreRol(user.getNombreRol())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public static UserResponse toDTO(UserSnapshot user) {
+        return UserResponse.builder()
+                .idUsuario(user.id())
+                .nombre(user.nombre())
+                .correo(user.correo())
+                .nombreRol(user.nombreRol())
+                .version(user.version())
+                .build();
+    }
+
+    public static UserResponse toDTO(UserView user) {
+        return UserResponse.builder()
+                .idUsuario(user.getId())
+                .nombre(user.getNombre())
+                .correo(user.getCorreo())
+                .nombreRol(user.getNombreRol())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -0,0 +1,78 @@
+-- Esquema inicial. Es idempotente para poder aplicarse también sobre bases creadas antes con ddl-auto:
+-- crea lo que falta y agrega las columnas que versiones anteriores de las entidades no tenían.
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY,
+    version    bigint DEFAULT 0,
+    correo     varchar(255),
+    nombre     varchar(255),
+    nombre_rol varchar(255),
+    password   varchar(255),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS tickets_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id                  bigint NOT NULL,
+    titulo              varchar(255),
+    descripcion         varchar(255),
+    estado              varchar(255),
+    usuario_id          bigint,
+    tecnico_asignado_id bigint,
+    fecha               timestamp(6),
+    fecha_actualizacion timestamp(6) DEFAULT current_timestamp,
+    version             bigint DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS fecha_actualizacion timestamp(6) DEFAULT current_timestamp;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_estado_id ON tickets (estado, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_usuario_id ON tickets (usuario_id, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_tecnico_id ON tickets (tecnico_asignado_id, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_estado_tecnico ON tickets (estado, tecnico_asignado_id);
+CREATE INDEX IF NOT EXISTS idx_tickets_fecha_actualizacion_id ON tickets (fecha_actualizacion, id);
+
+-- Búsqueda de texto completo: la expresión debe ser idéntica a la de TicketRepository.searchFullText
+CREATE INDEX IF NOT EXISTS idx_tickets_fts ON tickets USING GIN ((
+    setweight(to_tsvector('spanish', coalesce(titulo, '')), 'A')
+    || setweight(to_tsvector('spanish', coalesce(descripcion, '')), 'B')));
+
+CREATE SEQUENCE IF NOT EXISTS ticket_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ticket_outbox (
+    id              bigint  NOT NULL,
+    tipo            varchar(255),
+    ticket_id       bigint,
+    tecnico_id      bigint,
+    payload         text,
+    estado          varchar(255),
+    intentos        integer NOT NULL,
+    proximo_intento timestamp(6),
+    creado          timestamp(6),
+    error           varchar(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_outbox_estado_proximo ON ticket_outbox (estado, proximo_intento, id);
+
+CREATE SEQUENCE IF NOT EXISTS ticket_tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ticket_tombstones (
+    id                bigint NOT NULL,
+    ticket_id         bigint,
+    fecha_eliminacion timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_tombstones_fecha_ticket ON ticket_tombstones (fecha_eliminacion, ticket_id);
+
+-- Hibernate reserva bloques de 50 IDs por valor de secuencia: se adelantan las secuencias más allá de los IDs
+-- existentes para que las bases migradas desde ddl-auto no repitan claves
+SELECT setval('tickets_seq', greatest((SELECT coalesce(max(id), 0) FROM tickets) + 50, (SELECT last_value FROM tickets_seq)));
+SELECT setval('ticket_outbox_seq', greatest((SELECT coalesce(max(id), 0) FROM ticket_outbox) + 50, (SELECT last_value FROM ticket_outbox_seq)));
+SELECT setval('ticket_tombstones_seq', greatest((SELECT coalesce(max(id), 0) FROM ticket_tombstones) + 50, (SELECT last_value FROM ticket_tombstones_seq)));
@@ -0,0 +1,12 @@
+-- Correo único: findByCorreo pasa a usar el índice y la base rechaza los duplicados que la verificación
+-- previa de UserServiceImpl.save dejaba pasar entre dos solicitudes concurrentes.
+-- Si ya hay correos repetidos la migración falla y deben corregirse antes de volver a aplicarla.
+CREATE UNIQUE INDEX ux_usuarios_correo ON usuarios (correo);
+
+-- Filtros combinados de GET /api/tickets (solicitante o técnico junto con el estado), en el orden del cursor
+CREATE INDEX idx_tickets_usuario_estado_id ON tickets (usuario_id, estado, id);
+CREATE INDEX idx_tickets_tecnico_estado_id ON tickets (tecnico_asignado_id, estado, id);
+
+-- Un usuario con tickets ya no puede eliminarse; las columnas tienen índice propio para verificarlo sin recorrer la tabla
+ALTER TABLE tickets ADD CONSTRAINT fk_tickets_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE tickets ADD CONSTRAINT fk_tickets_tecnico FOREIGN KEY (tecnico_asignado_id) REFERENCES usuarios (id);
@@ -0,0 +1,19 @@
+-- GET /api/tickets ordena por (fecha, id) descendente y pagina con un cursor sobre ese par.
+-- Los tickets anteriores sin fecha toman la de su última actualización para que el cursor siempre tenga valor.
+UPDATE tickets SET fecha = coalesce(fecha_actualizacion, current_timestamp) WHERE fecha IS NULL;
+ALTER TABLE tickets ALTER COLUMN fecha SET NOT NULL;
+
+-- Un índice por combinación de filtros, terminado en (fecha, id) para leer la página en el orden del cursor.
+-- Reemplazan a los índices ordenados solo por ID; los de usuario y técnico siguen cubriendo las claves foráneas
+CREATE INDEX idx_tickets_fecha_id ON tickets (fecha, id);
+CREATE INDEX idx_tickets_estado_fecha_id ON tickets (estado, fecha, id);
+CREATE INDEX idx_tickets_usuario_fecha_id ON tickets (usuario_id, fecha, id);
+CREATE INDEX idx_tickets_tecnico_fecha_id ON tickets (tecnico_asignado_id, fecha, id);
+CREATE INDEX idx_tickets_usuario_estado_fecha_id ON tickets (usuario_id, estado, fecha, id);
+CREATE INDEX idx_tickets_tecnico_estado_fecha_id ON tickets (tecnico_asignado_id, estado, fecha, id);
+
+DROP INDEX idx_tickets_estado_id;
+DROP INDEX idx_tickets_usuario_id;
+DROP INDEX idx_tickets_tecnico_id;
+DROP INDEX idx_tickets_usuario_estado_id;
+DROP INDEX idx_tickets_tecnico_estado_id;
@@ -0,0 +1,133 @@
+package com.uca.parcialfinalncapas.config;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.exceptions.TicketNotFoundException;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.service.TicketService;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Recorre el camino de producción: JpaTransactionManager, LazyConnectionDataSourceProxy y ReplicaRoutingDataSource.
+ * La réplica es otra base H2 con el mismo esquema pero sin filas, así que un ticket que solo existe en el primario
+ * muestra a qué base fue cada lectura. La réplica no existe al arrancar (IFEXISTS), de modo que las lecturas
+ * del inicio van al primario; cada prueba la crea y la vuelve a habilitar con la verificación periódica.
+ */
+@SpringBootTest(properties = "database.replicas[0].url=" + ReadReplicaConfigTests.REPLICA_URL + ";IFEXISTS=TRUE")
+class ReadReplicaConfigTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-jpa;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        crearReplica();
+
+        User usuario = userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        User tecnico = userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+        ticketId = ticketRepository.save(Ticket.builder().titulo("Impresora").descripcion("No imprime")
+                .estado(State.OPEN.getDescription()).usuarioId(usuario.getId()).tecnicoAsignadoId(tecnico.getId())
+                .fecha(LocalDateTime.now()).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void readOnlyServiceMethodReadsFromReplica() {
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketById(ticketId));
+    }
+
+    // Ninguno de los pools es un bean, así que las métricas de Hikari las registra ReadReplicaConfig
+    @Test
+    void everyPoolPublishesHikariMetrics() {
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+    }
+
+    @Test
+    void readAfterWriteStaysOnPrimaryForSamePrincipal() {
+        autenticar("user@uca.edu.sv");
+        TicketCreateRequest request = new TicketCreateRequest();
+        request.setTitulo("Monitor");
+        request.setDescripcion("El monitor parpadea");
+        request.setCorreoUsuario("user@uca.edu.sv");
+        request.setCorreoSoporte("tech@uca.edu.sv");
+        Long creado = ticketService.createTicket(request).getIdTicket();
+
+        assertEquals("Monitor", ticketService.getTicketById(creado).getTitulo());
+        assertEquals("Impresora", ticketService.getTicketById(ticketId).getTitulo());
+
+        autenticar("otro@uca.edu.sv");
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketById(creado));
+    }
+
+    // Copia el esquema que Hibernate generó en el primario, sin filas, y habilita la réplica
+    private void crearReplica() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        Integer tablas = replica.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'tickets'", Integer.class);
+        if (tablas == 0) {
+            // Fuera de una transacción la conexión la entrega el primario
+            List<String> esquema = new JdbcTemplate(dataSource).queryForList("SCRIPT NODATA", String.class);
+            esquema.forEach(replica::execute);
+        }
+        replicaRoutingDataSource.verificarReplicas();
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.uca.parcialfinalncapas.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dos bases H2 en memoria hacen de primario y réplica; cada una guarda su nombre en la tabla origen,
+ * así cada consulta muestra a qué base fue a parar.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final Duration STICKY_WINDOW = Duration.ofMillis(300);
+
+    private final DataSource primario = h2("primario");
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    @BeforeEach
+    void setUp() {
+        usar(Map.of("replica-1", h2("replica")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", lectura.execute(status -> origen()));
+    }
+
+    @Test
+    void writeTransactionsGoToPrimary() {
+        assertEquals("primario", escritura.execute(status -> origen()));
+    }
+
+    @Test
+    void readsStayOnPrimaryForWriterDuringStickyWindow() throws InterruptedException {
+        autenticar("ana");
+        escritura.executeWithoutResult(status -> jdbcTemplate.update("UPDATE origen SET nombre = nombre"));
+
+        assertEquals("primario", lectura.execute(status -> origen()));
+        autenticar("luis");
+        assertEquals("replica", lectura.execute(status -> origen()));
+
+        Thread.sleep(STICKY_WINDOW.toMillis() * 2);
+        autenticar("ana");
+        assertEquals("replica", lectura.execute(status -> origen()));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReader() {
+        autenticar("ana");
+        escritura.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE origen SET nombre = nombre");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", lectura.execute(status -> origen()));
+    }
+
+    @Test
+    void registersStickySynchronizationOncePerTransaction() {
+        autenticar("ana");
+        int registradas = escritura.execute(status -> {
+            int antes = TransactionSynchronizationManager.getSynchronizations().size();
+            for (int i = 0; i < 3; i++) {
+                try (Connection ignored = routing.getConnection()) {
+                    // Cada conexión vuelve a consultar determineCurrentLookupKey
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return TransactionSynchronizationManager.getSynchronizations().size() - antes;
+        });
+
+        assertEquals(1, registradas);
+    }
+
+    @Test
+    void credentialsVariantIsRoutedToo() throws Exception {
+        String nombre = lectura.execute(status -> {
+            try (Connection connection = routing.getConnection("sa", "");
+                 var resultado = connection.createStatement().executeQuery("SELECT nombre FROM origen")) {
+                resultado.next();
+                return resultado.getString(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals("replica", nombre);
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimaryUntilItRecovers() {
+        DriverManagerDataSource caida = new DriverManagerDataSource("jdbc:h2:mem:caida;IFEXISTS=TRUE", "sa", "");
+        usar(Map.of("replica-1", caida));
+
+        assertEquals("primario", lectura.execute(status -> origen()));
+        assertEquals("primario", lectura.execute(status -> origen()));
+
+        // La base aparece y la verificación periódica vuelve a habilitar la réplica
+        h2("caida");
+        routing.verificarReplicas();
+        assertEquals("caida", lectura.execute(status -> origen()));
+    }
+
+    private void usar(Map<String, DataSource> replicas) {
+        routing = new ReplicaRoutingDataSource(primario, replicas, STICKY_WINDOW, Duration.ofSeconds(1));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+
+    private static DataSource h2(String nombre) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origen (nombre varchar(20))");
+        jdbc.execute("DELETE FROM origen");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+        return dataSource;
+    }
+}
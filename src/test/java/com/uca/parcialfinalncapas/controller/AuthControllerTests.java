@@ -0,0 +1,141 @@
+package com.uca.parcialfinalncapas.controller;
+
+import com.uca.parcialfinalncapas.config.LoginTaskExecutor;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.emptyString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pool de un hilo y cola de una tarea para poder saturarlo desde la prueba
+@SpringBootTest(properties = {
+        "auth.login.executor.pool-size=1",
+        "auth.login.executor.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+    private static final String CREDENCIALES = """
+            {"correo": "user@uca.edu.sv", "password": "%s"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginTaskExecutor loginExecutor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password(passwordEncoder.encode("secreto")).nombreRol(Rol.USER.getValue()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void loginReturnsToken() throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREDENCIALES.formatted("secreto")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(not(emptyString())));
+    }
+
+    @Test
+    void loginWithWrongPasswordIsUnauthorized() throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREDENCIALES.formatted("incorrecta")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Credenciales inválidas"));
+    }
+
+    @Test
+    void loginIsRejectedWhenPoolIsSaturated() throws Exception {
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<CompletableFuture<Void>> tareas = new ArrayList<>();
+        try {
+            // Una tarea ocupa el único hilo; al confirmarse que empezó, otra llena la cola
+            tareas.add(loginExecutor.submit(() -> esperar(ocupado, liberar)));
+            ocupado.await();
+            tareas.add(loginExecutor.submit(() -> null));
+            long rechazos = rechazos();
+
+            mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(CREDENCIALES.formatted("secreto")))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.message").value("Demasiadas solicitudes de inicio de sesión, intente más tarde"));
+            // El login rechazado también queda en el temporizador de auth.login
+            assertEquals(rechazos + 1, rechazos());
+        } finally {
+            liberar.countDown();
+            CompletableFuture.allOf(tareas.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private long rechazos() {
+        Timer timer = meterRegistry.find("auth.login").tag("outcome", "rejected").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static Void esperar(CountDownLatch ocupado, CountDownLatch liberar) {
+        ocupado.countDown();
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
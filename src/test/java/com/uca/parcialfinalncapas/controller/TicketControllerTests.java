@@ -0,0 +1,236 @@
+package com.uca.parcialfinalncapas.controller;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketControllerTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+        authorization = "Bearer " + jwtUtil.generateToken(userDetailsService.loadUserByUsername("tech@uca.edu.sv"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void createTicketsReportsErrorsPerItem() throws Exception {
+        String body = """
+                [
+                  {"titulo": "Impresora", "descripcion": "No imprime", "correoUsuario": "user@uca.edu.sv", "correoSoporte": "tech@uca.edu.sv"},
+                  {"titulo": "", "descripcion": "Sin título", "correoUsuario": "user@uca.edu.sv", "correoSoporte": "tech@uca.edu.sv"},
+                  {"titulo": "Proyector", "descripcion": "No enciende", "correoUsuario": "nadie@uca.edu.sv", "correoSoporte": "tech@uca.edu.sv"},
+                  {"titulo": "Red", "descripcion": "Sin conexión", "correoUsuario": "user@uca.edu.sv", "correoSoporte": "user@uca.edu.sv"},
+                  {"titulo": "Monitor", "descripcion": "Parpadea", "correoUsuario": "user@uca.edu.sv", "correoSoporte": "tech@uca.edu.sv"}
+                ]""";
+
+        mockMvc.perform(post("/api/tickets/batch")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.creados", hasSize(2)))
+                .andExpect(jsonPath("$.data.creados[0].titulo").value("Impresora"))
+                .andExpect(jsonPath("$.data.creados[1].titulo").value("Monitor"))
+                .andExpect(jsonPath("$.data.errores", hasSize(3)))
+                .andExpect(jsonPath("$.data.errores[0].indice").value(1))
+                .andExpect(jsonPath("$.data.errores[0].mensaje").value("titulo: El título no puede estar vacío"))
+                .andExpect(jsonPath("$.data.errores[1].indice").value(2))
+                .andExpect(jsonPath("$.data.errores[1].mensaje").value("Usuario no encontrado con correo: nadie@uca.edu.sv"))
+                .andExpect(jsonPath("$.data.errores[2].indice").value(3))
+                .andExpect(jsonPath("$.data.errores[2].mensaje").value("El usuario asignado no es un técnico de soporte"));
+
+        assertEquals(2, ticketRepository.count());
+    }
+
+    @Test
+    void createTicketsWithoutValidItemsIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tickets/batch")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"titulo\": \"Impresora\", \"descripcion\": \"No imprime\", \"correoUsuario\": \"user@uca.edu.sv\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data.creados", hasSize(0)))
+                .andExpect(jsonPath("$.data.errores[0].mensaje").value("El ticket no puede ser nulo"))
+                .andExpect(jsonPath("$.data.errores[1].mensaje").value("correoSoporte: Debe indicar el correo del técnico asignado"));
+
+        assertEquals(0, ticketRepository.count());
+    }
+
+    @Test
+    void createTicketsRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/tickets/batch")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void requestWithInvalidTokenIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/tickets/batch")
+                        .header(HttpHeaders.AUTHORIZATION, authorization + "x")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getTicketWithCurrentETagIsNotModified() throws Exception {
+        Long ticketId = crearTicket();
+        String eTag = mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"t-" + ticketId + "-v0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateTicketChecksIfMatch() throws Exception {
+        Long ticketId = crearTicket();
+        String body = """
+                {"id": %d, "estado": "IN_PROGRESS", "correoSoporte": "tech@uca.edu.sv"}""".formatted(ticketId);
+
+        mockMvc.perform(put("/api/tickets")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"t-" + ticketId + "-v0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"t-" + ticketId + "-v1\""));
+
+        // La versión 0 ya no es la actual
+        mockMvc.perform(put("/api/tickets")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"t-" + ticketId + "-v0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        // Un ETag de otro recurso tampoco coincide
+        mockMvc.perform(put("/api/tickets")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"u-" + ticketId + "-v1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(1L, ticketRepository.findVersionById(ticketId).orElseThrow());
+    }
+
+    @Test
+    void getTicketNegotiatesBinaryFormats() throws Exception {
+        Long ticketId = crearTicket();
+
+        byte[] cbor = mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Impresora", new CBORMapper().readTree(cbor).at("/data/titulo").asText());
+
+        byte[] smile = mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Impresora", new SmileMapper().readTree(smile).at("/data/titulo").asText());
+
+        // Sin preferencia se mantiene JSON
+        mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.titulo").value("Impresora"));
+    }
+
+    @Test
+    void errorBodyUsesNegotiatedBinaryFormat() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/tickets/{id}", 999_999L)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Ticket no encontrado con ID: 999999", new CBORMapper().readTree(cbor).at("/message").asText());
+    }
+
+    private Long crearTicket() {
+        Long usuarioId = userRepository.findByCorreo("user@uca.edu.sv").orElseThrow().getId();
+        Long tecnicoId = userRepository.findByCorreo("tech@uca.edu.sv").orElseThrow().getId();
+        return ticketRepository.save(Ticket.builder().titulo("Impresora").descripcion("No imprime")
+                .estado(State.OPEN.getDescription()).usuarioId(usuarioId).tecnicoAsignadoId(tecnicoId)
+                .fecha(LocalDateTime.now()).build()).getId();
+    }
+}
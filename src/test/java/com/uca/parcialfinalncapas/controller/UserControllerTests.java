@@ -0,0 +1,127 @@
+package com.uca.parcialfinalncapas.controller;
+
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
+import com.uca.parcialfinalncapas.support.PostgresIntegrationTest;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Las restricciones (índice único y claves foráneas) las crea V2, por eso estas pruebas corren sobre PostgreSQL
+class UserControllerTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private User tecnico;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        tecnico = userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+        authorization = "Bearer " + jwtUtil.generateToken(userDetailsService.loadUserByUsername("tech@uca.edu.sv"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    // El listado se escribe de forma asíncrona con la misma envoltura de GeneralResponse
+    @Test
+    void getAllUsersStreamsEveryUser() throws Exception {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+
+        MvcResult resultado = mockMvc.perform(get("/api/users/all")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.uri").value("/api/users/all"))
+                .andExpect(jsonPath("$.message").value("Usuarios obtenidos correctamente"))
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].correo").value("tech@uca.edu.sv"))
+                .andExpect(jsonPath("$.data[1].correo").value("user@uca.edu.sv"));
+    }
+
+    @Test
+    void createUserWithExistingCorreoIsConflict() throws Exception {
+        String body = """
+                {"nombre": "Otro", "correo": "tech@uca.edu.sv", "password": "otro", "nombreRol": "USER"}""";
+
+        mockMvc.perform(post("/api/users")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Ya existe un usuario con el correo: tech@uca.edu.sv"));
+
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void deleteUserWithTicketsIsConflict() throws Exception {
+        User usuario = userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        ticketRepository.save(Ticket.builder().titulo("Impresora").descripcion("No imprime")
+                .estado(State.OPEN.getDescription()).usuarioId(usuario.getId()).tecnicoAsignadoId(tecnico.getId())
+                .fecha(LocalDateTime.now()).build());
+
+        // fk_tickets_usuario no es la restricción del correo: responde el manejador genérico
+        mockMvc.perform(delete("/api/users/{id}", usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("La operación entra en conflicto con registros relacionados"));
+
+        assertTrue(userRepository.existsById(usuario.getId()));
+    }
+}
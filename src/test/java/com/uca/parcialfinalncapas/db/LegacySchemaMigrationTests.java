@@ -0,0 +1,49 @@
+package com.uca.parcialfinalncapas.db;
+
+import com.uca.parcialfinalncapas.support.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Una base creada con ddl-auto cuando tickets usaba IDENTITY, y a la que ddl-auto=update ya le agregó
+ * tickets_seq desde 1, se registra en la versión 0 y V1 debe adelantar la secuencia más allá de los IDs existentes.
+ */
+class LegacySchemaMigrationTests extends PostgresIntegrationTest {
+
+    private static final long MAX_LEGACY_ID = 120;
+
+    @Test
+    void seedsTicketSequencePastExistingIds() {
+        new JdbcTemplate(postgresDatabase()).execute("CREATE DATABASE legacy");
+        DataSource legacy = database("legacy");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        jdbcTemplate.execute("""
+                CREATE TABLE usuarios (id bigint GENERATED BY DEFAULT AS IDENTITY, correo varchar(255), nombre varchar(255),
+                    nombre_rol varchar(255), password varchar(255), PRIMARY KEY (id));
+                CREATE TABLE tickets (id bigint GENERATED BY DEFAULT AS IDENTITY, descripcion varchar(255), estado varchar(255),
+                    fecha timestamp(6), tecnico_asignado_id bigint, titulo varchar(255), usuario_id bigint, PRIMARY KEY (id));
+                CREATE SEQUENCE tickets_seq START WITH 1 INCREMENT BY 50;
+                INSERT INTO usuarios (id, correo, nombre, nombre_rol, password) VALUES (1, 'user@uca.edu.sv', 'Usuario', 'USER', 'x');
+                """);
+        jdbcTemplate.update("INSERT INTO tickets (id, titulo, descripcion, estado, usuario_id) VALUES (?, 'Impresora', 'No imprime', 'Abierto', 1)",
+                MAX_LEGACY_ID);
+
+        Flyway.configure()
+                .dataSource(legacy)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        // El optimizador pooled de Hibernate usa nextval como límite superior del bloque de 50 IDs
+        long hi = jdbcTemplate.queryForObject("SELECT nextval('tickets_seq')", Long.class);
+        assertTrue(hi - 50 >= MAX_LEGACY_ID, "El primer ID del bloque (" + (hi - 49) + ") repetiría uno existente");
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM tickets WHERE id = ?", Long.class, MAX_LEGACY_ID));
+    }
+}
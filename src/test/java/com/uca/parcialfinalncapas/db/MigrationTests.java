@@ -0,0 +1,41 @@
+package com.uca.parcialfinalncapas.db;
+
+import com.uca.parcialfinalncapas.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las migraciones se aplican sobre una base vacía y el contexto arranca con ddl-auto=validate:
+ * si una entidad deja de coincidir con el esquema de Flyway el contexto no carga y la prueba falla.
+ */
+class MigrationTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesEveryMigrationSuccessfully() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank",
+                String.class);
+        assertEquals(List.of("1", "2", "3"), versions);
+    }
+
+    @Test
+    void createsConstraintsAndIndexesDeclaredInMigrations() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename IN ('usuarios', 'tickets')", String.class);
+        assertTrue(indexes.containsAll(List.of("ux_usuarios_correo", "idx_tickets_fts",
+                "idx_tickets_estado_fecha_id", "idx_tickets_usuario_estado_fecha_id", "idx_tickets_tecnico_estado_fecha_id")), indexes.toString());
+
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'tickets'::regclass AND contype = 'f'", String.class);
+        assertTrue(foreignKeys.containsAll(List.of("fk_tickets_usuario", "fk_tickets_tecnico")), foreignKeys.toString());
+    }
+}
@@ -0,0 +1,180 @@
+package com.uca.parcialfinalncapas.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Generador de carga de modelo cerrado: cada trabajador envía solicitudes de forma secuencial,
+ * eligiendo el escenario según su peso, y se registran latencias y códigos de estado por escenario.
+ */
+class LoadTestDriver {
+
+    /**
+     * Un tipo de solicitud de la mezcla de tráfico. El constructor de la solicitud recibe
+     * el token del trabajador para poder autenticarse.
+     */
+    record Scenario(String name, int weight, Function<String, HttpRequest> request) {
+    }
+
+    private final String baseUrl;
+    private final HttpClient client;
+
+    LoadTestDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Ejecuta la mezcla de escenarios con la concurrencia indicada hasta completar el total de solicitudes.
+     *
+     * @param scenarios los escenarios y sus pesos
+     * @param tokens un token por trabajador
+     * @param totalRequests total de solicitudes a enviar entre todos los trabajadores
+     * @return el reporte con throughput y percentiles
+     */
+    Report run(List<Scenario> scenarios, List<String> tokens, int totalRequests) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> recorders.put(scenario.name(), new Recorder()));
+
+        AtomicInteger remaining = new AtomicInteger(totalRequests);
+        CountDownLatch done = new CountDownLatch(tokens.size());
+        ExecutorService workers = Executors.newFixedThreadPool(tokens.size());
+        long start = System.nanoTime();
+
+        for (String token : tokens) {
+            workers.execute(() -> {
+                try {
+                    while (remaining.getAndDecrement() > 0) {
+                        Scenario scenario = pick(scenarios, totalWeight);
+                        recorders.get(scenario.name()).record(() -> send(scenario.request().apply(token)));
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        long elapsedNanos = System.nanoTime() - start;
+        workers.shutdown();
+        return new Report(recorders, elapsedNanos);
+    }
+
+    private Scenario pick(List<Scenario> scenarios, int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    interface Call {
+        HttpResponse<String> execute() throws Exception;
+    }
+
+    static class Recorder {
+        private final List<Long> latencies = new ArrayList<>();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong failures = new AtomicLong();
+
+        void record(Call call) {
+            long start = System.nanoTime();
+            try {
+                int status = call.execute().statusCode();
+                statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+            long latency = System.nanoTime() - start;
+            synchronized (latencies) {
+                latencies.add(latency);
+            }
+        }
+
+        long count(int fromStatus, int toStatus) {
+            return statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() >= fromStatus && entry.getKey() <= toStatus)
+                    .mapToLong(entry -> entry.getValue().get())
+                    .sum();
+        }
+
+        long[] sortedLatencies() {
+            long[] values;
+            synchronized (latencies) {
+                values = latencies.stream().mapToLong(Long::longValue).toArray();
+            }
+            Arrays.sort(values);
+            return values;
+        }
+    }
+
+    record Report(Map<String, Recorder> recorders, long elapsedNanos) {
+
+        long serverErrors() {
+            return recorders.values().stream().mapToLong(recorder -> recorder.count(500, 599)).sum();
+        }
+
+        long transportFailures() {
+            return recorders.values().stream().mapToLong(recorder -> recorder.failures.get()).sum();
+        }
+
+        String format() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("%-22s %8s %8s %8s %9s %9s %9s %9s%n",
+                    "escenario", "total", "2xx", "otros", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+            long total = 0;
+            for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+                long[] latencies = entry.getValue().sortedLatencies();
+                total += latencies.length;
+                long ok = entry.getValue().count(200, 299);
+                out.append(String.format("%-22s %8d %8d %8d %9.2f %9.2f %9.2f %9.2f%n",
+                        entry.getKey(), latencies.length, ok, latencies.length - ok,
+                        percentile(latencies, 50), percentile(latencies, 95),
+                        percentile(latencies, 99), percentile(latencies, 100)));
+            }
+            out.append(String.format("total: %d solicitudes en %.2f s, %.1f solicitudes/s%n",
+                    total, seconds, total / seconds));
+            return out.toString();
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
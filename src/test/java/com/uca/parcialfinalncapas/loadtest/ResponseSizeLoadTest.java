@@ -0,0 +1,179 @@
+package com.uca.parcialfinalncapas.loadtest;
+
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mide el tiempo hasta el primer byte, el tiempo total y los bytes transferidos de los listados grandes,
+ * con y sin gzip. HttpClient no descomprime, así que los bytes leídos son los que viajan por la red.
+ * Se ejecuta con: mvn -Ploadtest test -Dtest=ResponseSizeLoadTest [-Dloadtest.tickets=100000]
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseSizeLoadTest {
+
+    private static final String PASSWORD = "secreto";
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final int SEED_BATCH = 5_000;
+
+    private final int userCount = Integer.getInteger("loadtest.users", 5_000);
+    private final int ticketCount = Integer.getInteger("loadtest.tickets", 100_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<User> users = new ArrayList<>();
+
+    /**
+     * Resultado de una descarga. streamed indica si el endpoint escribe el cuerpo mientras lee de la base.
+     */
+    record Measurement(String name, boolean streamed, String encoding, int status,
+                       long firstByteMillis, long totalMillis, long bytes) {
+        String format() {
+            return String.format("%-31s %-9s %6d %10d %10d %14d", name, encoding, status, firstByteMillis, totalMillis, bytes);
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> nuevos = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            boolean tech = i % 5 == 0;
+            nuevos.add(User.builder()
+                    .nombre((tech ? "Tecnico " : "Usuario ") + i)
+                    .correo((tech ? "tech" : "user") + i + "@uca.edu.sv")
+                    .password(hash)
+                    .nombreRol(tech ? Rol.TECH.getValue() : Rol.USER.getValue())
+                    .build());
+        }
+        users.addAll(userRepository.saveAll(nuevos));
+
+        List<Ticket> tickets = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.add(Ticket.builder()
+                    .titulo("Ticket " + i)
+                    .descripcion("La computadora del laboratorio " + i + " no enciende")
+                    .estado(State.OPEN.getDescription())
+                    .usuarioId(users.get(i % users.size()).getId())
+                    .tecnicoAsignadoId(users.get((i / 5 * 5) % users.size()).getId())
+                    .fecha(LocalDateTime.now())
+                    .build());
+            if (tickets.size() == SEED_BATCH) {
+                ticketRepository.saveAll(tickets);
+                tickets.clear();
+            }
+        }
+        ticketRepository.saveAll(tickets);
+    }
+
+    @Test
+    void largeListings(TestReporter reporter) throws Exception {
+        String token = login(users.get(1).getCorreo());
+
+        List<Measurement> results = new ArrayList<>();
+        for (String encoding : List.of("identity", "gzip")) {
+            results.add(measure("GET /api/tickets?size=200", false, "/api/tickets?size=200", token, encoding));
+            results.add(measure("GET /api/users/all", true, "/api/users/all", token, encoding));
+            results.add(measure("GET /api/tickets/export ndjson", true, "/api/tickets/export?format=ndjson", token, encoding));
+            results.add(measure("GET /api/tickets/export csv", true, "/api/tickets/export?format=csv", token, encoding));
+        }
+
+        StringBuilder report = new StringBuilder(String.format("%-31s %-9s %6s %10s %10s %14s%n",
+                "endpoint", "encoding", "status", "ttfb ms", "total ms", "bytes"));
+        results.forEach(result -> report.append(result.format()).append('\n'));
+        reporter.publishEntry("Listados grandes",
+                String.format("%d tickets, %d usuarios%n%s", ticketCount, userCount, report));
+
+        for (Measurement result : results) {
+            assertEquals(200, result.status(), result.name());
+            // Un listado en streaming envía la primera página mientras sigue leyendo las demás
+            if (result.streamed()) {
+                assertTrue(result.firstByteMillis() >= 0 && result.firstByteMillis() < result.totalMillis(),
+                        "el primer byte de " + result.name() + " llegó junto con el cuerpo completo");
+            }
+        }
+        for (int i = 0; i < results.size() / 2; i++) {
+            Measurement plain = results.get(i);
+            Measurement gzip = results.get(i + results.size() / 2);
+            assertTrue(gzip.bytes() < plain.bytes(), "gzip no redujo " + plain.name());
+        }
+    }
+
+    private Measurement measure(String name, boolean streamed, String path, String token, String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofMinutes(5))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        long firstByte = -1;
+        long bytes = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = response.body()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (firstByte < 0) {
+                    firstByte = System.nanoTime();
+                }
+                bytes += read;
+            }
+        }
+        long end = System.nanoTime();
+        String actualEncoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        return new Measurement(name, streamed, actualEncoding, response.statusCode(),
+                firstByte < 0 ? -1 : (firstByte - start) / 1_000_000, (end - start) / 1_000_000, bytes);
+    }
+
+    private String login(String correo) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"correo\":\"" + correo + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No se pudo iniciar sesión con " + correo + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,171 @@
+package com.uca.parcialfinalncapas.loadtest;
+
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga de extremo a extremo contra H2 en modo PostgreSQL.
+ * Se ejecuta con: mvn -Ploadtest test [-Dloadtest.requests=20000 -Dloadtest.concurrency=64]
+ * Para comparar con hilos virtuales: mvn -Ploadtest,virtual-threads test
+ * Para comparar el tiempo que se retienen las conexiones con open-in-view: -Dspring.jpa.open-in-view=true
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TicketLoadTest {
+
+    private static final String PASSWORD = "secreto";
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    private final int userCount = Integer.getInteger("loadtest.users", 50);
+    private final int ticketCount = Integer.getInteger("loadtest.tickets", 5_000);
+    private final int requestCount = Integer.getInteger("loadtest.requests", 5_000);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<User> requesters = new ArrayList<>();
+    private final List<User> technicians = new ArrayList<>();
+    private final List<Long> ticketIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < userCount; i++) {
+            boolean tech = i % 5 == 0;
+            User user = userRepository.save(User.builder()
+                    .nombre((tech ? "Tecnico " : "Usuario ") + i)
+                    .correo((tech ? "tech" : "user") + i + "@uca.edu.sv")
+                    .password(hash)
+                    .nombreRol(tech ? Rol.TECH.getValue() : Rol.USER.getValue())
+                    .build());
+            (tech ? technicians : requesters).add(user);
+        }
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.add(Ticket.builder()
+                    .titulo("Ticket " + i)
+                    .descripcion("La computadora del laboratorio " + i + " no enciende")
+                    .estado(State.OPEN.getDescription())
+                    .usuarioId(requesters.get(i % requesters.size()).getId())
+                    .tecnicoAsignadoId(technicians.get(i % technicians.size()).getId())
+                    .fecha(LocalDateTime.now())
+                    .build());
+        }
+        ticketRepository.saveAll(tickets).forEach(ticket -> ticketIds.add(ticket.getId()));
+    }
+
+    @Test
+    void mixedTraffic() throws Exception {
+        LoadTestDriver driver = new LoadTestDriver("http://localhost:" + port);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            tokens.add(login(driver, requesters.get(i % requesters.size()).getCorreo()));
+        }
+
+        List<LoadTestDriver.Scenario> scenarios = List.of(
+                new LoadTestDriver.Scenario("POST /auth/login", 5, token -> driver.request("/auth/login")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(loginBody(random(requesters).getCorreo())))
+                        .build()),
+                new LoadTestDriver.Scenario("GET /api/tickets", 25, token -> driver.request("/api/tickets?size=50")
+                        .header("Authorization", "Bearer " + token).GET().build()),
+                new LoadTestDriver.Scenario("GET /api/tickets/{id}", 30, token -> driver.request("/api/tickets/" + random(ticketIds))
+                        .header("Authorization", "Bearer " + token).GET().build()),
+                new LoadTestDriver.Scenario("POST /api/tickets", 10, token -> driver.request("/api/tickets")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"titulo":"Carga","descripcion":"Ticket de carga","correoUsuario":"%s","correoSoporte":"%s"}
+                                """.formatted(random(requesters).getCorreo(), random(technicians).getCorreo())))
+                        .build()),
+                new LoadTestDriver.Scenario("PUT /api/tickets", 10, token -> driver.request("/api/tickets")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("""
+                                {"id":%d,"estado":"IN_PROGRESS","correoSoporte":"%s"}
+                                """.formatted(random(ticketIds), random(technicians).getCorreo())))
+                        .build()),
+                new LoadTestDriver.Scenario("GET /api/users/{correo}", 15, token -> driver.request("/api/users/" + random(requesters).getCorreo())
+                        .header("Authorization", "Bearer " + token).GET().build()),
+                new LoadTestDriver.Scenario("GET /api/users/all", 5, token -> driver.request("/api/users/all")
+                        .header("Authorization", "Bearer " + token).GET().build())
+        );
+
+        // hikaricp.connections.usage mide cuánto tiempo se retiene cada conexión antes de devolverla al pool
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        long usageCount = usage.count();
+        double usageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+
+        LoadTestDriver.Report report = driver.run(scenarios, tokens, requestCount);
+
+        long held = usage.count() - usageCount;
+        System.out.printf("%nCarga mixta: %d solicitudes, concurrencia %d, hilos virtuales=%s%n%s%n",
+                requestCount, concurrency, System.getProperty("spring.threads.virtual.enabled", "false"), report.format());
+        System.out.printf("Conexiones (open-in-view=%s): %d préstamos, %.3f ms en promedio, máximo %.1f ms%n",
+                System.getProperty("spring.jpa.open-in-view", "false"), held,
+                held == 0 ? 0 : (usage.totalTime(TimeUnit.MILLISECONDS) - usageMillis) / held, usage.max(TimeUnit.MILLISECONDS));
+
+        assertEquals(0, report.transportFailures(), "Solicitudes sin respuesta");
+        assertEquals(0, report.serverErrors(), "Respuestas 5xx");
+    }
+
+    private String login(LoadTestDriver driver, String correo) throws Exception {
+        HttpResponse<String> response = driver.send(driver.request("/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody(correo)))
+                .build());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No se pudo iniciar sesión con " + correo + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String loginBody(String correo) {
+        return "{\"correo\":\"" + correo + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
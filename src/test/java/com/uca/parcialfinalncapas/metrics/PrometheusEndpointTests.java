@@ -0,0 +1,48 @@
+package com.uca.parcialfinalncapas.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class PrometheusEndpointTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusIsServedOnlyOnManagementPort() throws Exception {
+        HttpResponse<String> management = get(managementPort, "/actuator/prometheus");
+        assertEquals(200, management.statusCode());
+        assertTrue(management.body().contains("jvm_memory_used_bytes"));
+
+        assertEquals(404, get(port, "/actuator/prometheus").statusCode());
+    }
+
+    @Test
+    void otherActuatorEndpointsRequireToken() throws Exception {
+        assertEquals(401, get(managementPort, "/actuator/metrics").statusCode());
+        assertEquals(200, get(managementPort, "/actuator/health").statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.uca.parcialfinalncapas.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTests {
+
+    // La misma clave que usa JwtUtil, para firmar tokens con claims que generateToken no produce
+    private static final String SECRET_KEY = "mi_clave_secreta";
+
+    private final UserDetails tecnico = User.withUsername("tech@uca.edu.sv").password("tech").roles("TECH").build();
+
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        JwtUtil jwtUtil = new JwtUtil(100, Duration.ofMinutes(10));
+        String token = jwtUtil.generateToken(tecnico);
+
+        Claims primera = jwtUtil.extractClaims(token);
+
+        assertSame(primera, jwtUtil.extractClaims(token));
+        assertEquals("tech@uca.edu.sv", primera.getSubject());
+        assertEquals(List.of("ROLE_TECH"), authorities(jwtUtil, primera));
+    }
+
+    @Test
+    void cacheDisabledWithZeroSizeParsesEveryTime() {
+        JwtUtil jwtUtil = new JwtUtil(0, Duration.ofMinutes(10));
+        String token = jwtUtil.generateToken(tecnico);
+
+        assertNotSame(jwtUtil.extractClaims(token), jwtUtil.extractClaims(token));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        JwtUtil jwtUtil = new JwtUtil(100, Duration.ofMinutes(10));
+        String token = jwtUtil.generateToken(tecnico);
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractClaims(alterado));
+    }
+
+    // La caché vive más que el token: al expirar se rechaza aunque sus claims sigan en memoria
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(100, Duration.ofMinutes(10));
+        String token = Jwts.builder()
+                .setSubject("tech@uca.edu.sv")
+                .setExpiration(new Date(System.currentTimeMillis() + 1500))
+                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .compact();
+        Claims claims = jwtUtil.extractClaims(token);
+
+        Thread.sleep(claims.getExpiration().getTime() - System.currentTimeMillis() + 100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.extractClaims(token));
+    }
+
+    @Test
+    void legacyAuthorityObjectsAreStillAccepted() {
+        JwtUtil jwtUtil = new JwtUtil(100, Duration.ofMinutes(10));
+        String token = Jwts.builder()
+                .setSubject("tech@uca.edu.sv")
+                .claim("authorities", List.of(Map.of("authority", "ROLE_TECH")))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .compact();
+
+        assertEquals(List.of("ROLE_TECH"), authorities(jwtUtil, jwtUtil.extractClaims(token)));
+    }
+
+    private static List<String> authorities(JwtUtil jwtUtil, Claims claims) {
+        return jwtUtil.extractAuthorities(claims).stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.support.TicketFixtureTest;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// El técnico de la base es el primero en asignarse; el segundo se crea después y tiene un ID mayor
+class TechnicianWorkloadServiceImplTests extends TicketFixtureTest {
+
+    private User segundo;
+
+    @BeforeEach
+    void setUp() {
+        segundo = userRepository.save(User.builder().nombre("Tecnico 2").correo("tech2@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+        // La carga vive en el contexto compartido: se parte de los técnicos de esta prueba
+        technicianWorkloadService.reload();
+    }
+
+    // Con la misma carga gana el ID menor
+    @Test
+    void newTicketsGoToLeastLoadedTechnician() {
+        List<String> asignados = List.of(
+                ticketService.createTicket(autoAsignado("Impresora")).getCorreoSoporte(),
+                ticketService.createTicket(autoAsignado("Proyector")).getCorreoSoporte(),
+                ticketService.createTicket(autoAsignado("Monitor")).getCorreoSoporte());
+
+        assertEquals(List.of("tech@uca.edu.sv", "tech2@uca.edu.sv", "tech@uca.edu.sv"), asignados);
+        assertEquals(Optional.of(segundo.getId()), technicianWorkloadService.leastLoadedTechnician());
+    }
+
+    @Test
+    void closedTicketsNoLongerCountAsLoad() {
+        Long ticketId = ticketService.createTicket(autoAsignado("Impresora")).getIdTicket();
+        assertEquals(Optional.of(segundo.getId()), technicianWorkloadService.leastLoadedTechnician());
+
+        ticketService.updateTicket(TicketUpdateRequest.builder()
+                .id(ticketId)
+                .estado(State.CLOSED.name())
+                .correoSoporte("tech@uca.edu.sv")
+                .build(), null);
+
+        assertEquals(Optional.of(tecnico.getId()), technicianWorkloadService.leastLoadedTechnician());
+    }
+
+    // El técnico se borra sin pasar por el servicio: la asignación lo descarta y sigue con el siguiente
+    @Test
+    void removedTechnicianIsSkipped() {
+        userRepository.delete(tecnico);
+
+        assertEquals("tech2@uca.edu.sv", ticketService.createTicket(autoAsignado("Impresora")).getCorreoSoporte());
+    }
+
+    @Test
+    void createTicketWithoutTechniciansIsRejected() {
+        userRepository.deleteAll(List.of(tecnico, segundo));
+        technicianWorkloadService.reload();
+
+        assertThrows(BadTicketRequestException.class, () -> ticketService.createTicket(autoAsignado("Impresora")));
+        assertEquals(0, ticketRepository.count());
+    }
+
+    // Sin técnico indicado el servicio elige al de menor carga
+    private static TicketCreateRequest autoAsignado(String titulo) {
+        TicketCreateRequest request = request(titulo);
+        request.setCorreoSoporte(null);
+        return request;
+    }
+}
@@ -0,0 +1,180 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketChangesResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.TicketTombstoneRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
+import com.uca.parcialfinalncapas.service.impl.TicketChangesServiceImpl;
+import com.uca.parcialfinalncapas.utils.CursorUtil;
+import com.uca.parcialfinalncapas.utils.CursorUtil.Watermark;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin safety-lag para que los cambios recién confirmados ya se entreguen
+@SpringBootTest(properties = "tickets.changes.safety-lag=PT0S")
+@AutoConfigureMockMvc
+class TicketChangesServiceImplTests {
+
+    @Autowired
+    private TicketChangesService ticketChangesService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tombstoneRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void syncFromWatermarkReturnsOnlyLaterChanges() {
+        Long impresora = ticketService.createTicket(ticket("Impresora")).getIdTicket();
+        Long proyector = ticketService.createTicket(ticket("Proyector")).getIdTicket();
+        Long monitor = ticketService.createTicket(ticket("Monitor")).getIdTicket();
+
+        // Descarga inicial de a un cambio por página hasta agotar
+        List<Long> iniciales = new ArrayList<>();
+        String cursor = null;
+        TicketChangesResponse page;
+        do {
+            page = ticketChangesService.getChanges(cursor, 1);
+            page.getTickets().stream().map(TicketResponseList::getIdTicket).forEach(iniciales::add);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        assertEquals(List.of(impresora, proyector, monitor), iniciales);
+
+        ticketService.updateTicket(TicketUpdateRequest.builder()
+                .id(proyector)
+                .estado(State.CLOSED.name())
+                .correoSoporte("tech@uca.edu.sv")
+                .build(), null);
+        ticketService.deleteTicket(impresora);
+
+        TicketChangesResponse delta = ticketChangesService.getChanges(cursor, 10);
+        assertEquals(List.of(proyector), delta.getTickets().stream().map(TicketResponseList::getIdTicket).toList());
+        assertEquals(List.of(impresora), delta.getEliminados());
+        assertFalse(delta.isHasMore());
+
+        // Sin cambios nuevos la marca avanza hasta el límite del margen, y desde ahí tampoco hay cambios
+        LocalDateTime antes = LocalDateTime.now();
+        TicketChangesResponse vacio = ticketChangesService.getChanges(delta.getNextCursor(), 10);
+        assertTrue(vacio.getTickets().isEmpty() && vacio.getEliminados().isEmpty());
+        assertFalse(CursorUtil.decodeWatermark(vacio.getNextCursor()).fecha().isBefore(antes));
+        TicketChangesResponse siguiente = ticketChangesService.getChanges(vacio.getNextCursor(), 10);
+        assertTrue(siguiente.getTickets().isEmpty() && siguiente.getEliminados().isEmpty());
+    }
+
+    // Un cliente que sondea sin que haya cambios renueva su cursor y nunca llega al 410 por expiración
+    @Test
+    void idlePollerCursorAdvancesBeforeItExpires() {
+        String antiguo = CursorUtil.encode(new Watermark(LocalDateTime.now().minusDays(29), 1L));
+        TicketChangesService conMargen = new TicketChangesServiceImpl(ticketRepository, tombstoneRepository,
+                Duration.ofMinutes(5), Duration.ofDays(30));
+
+        LocalDateTime antes = LocalDateTime.now();
+        TicketChangesResponse page = conMargen.getChanges(antiguo, 10);
+
+        assertTrue(page.getTickets().isEmpty() && page.getEliminados().isEmpty());
+        Watermark marca = CursorUtil.decodeWatermark(page.getNextCursor());
+        assertFalse(marca.fecha().isBefore(antes.minusMinutes(5)));
+        assertEquals(0L, marca.id());
+    }
+
+    // Una transacción que todavía no confirmó puede tener una fecha dentro del margen: no se entrega aún
+    @Test
+    void changesInsideSafetyLagAreHeldBack() {
+        ticketService.createTicket(ticket("Impresora"));
+        TicketChangesService conMargen = new TicketChangesServiceImpl(ticketRepository, tombstoneRepository,
+                Duration.ofMinutes(5), Duration.ofDays(30));
+
+        TicketChangesResponse page = conMargen.getChanges(null, 10);
+
+        assertTrue(page.getTickets().isEmpty());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void expiredCursorRequiresResync() throws Exception {
+        String expirado = CursorUtil.encode(new Watermark(LocalDateTime.now().minusDays(31), 1L));
+
+        mockMvc.perform(get("/api/tickets/changes")
+                        .param("since", expirado)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer "
+                                + jwtUtil.generateToken(userDetailsService.loadUserByUsername("tech@uca.edu.sv"))))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(BadTicketRequestException.class, () -> ticketChangesService.getChanges("no-es-un-cursor", 10));
+    }
+
+    private static TicketCreateRequest ticket(String titulo) {
+        TicketCreateRequest request = new TicketCreateRequest();
+        request.setTitulo(titulo);
+        request.setDescripcion("Descripción " + titulo);
+        request.setCorreoUsuario("user@uca.edu.sv");
+        request.setCorreoSoporte("tech@uca.edu.sv");
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.security.jwt.JwtUtil;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketFeedServiceImplTests {
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private User tecnico;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        tecnico = userRepository.save(User.builder().nombre("Tecnico 1").correo("tech1@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+        userRepository.save(User.builder().nombre("Tecnico 2").correo("tech2@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void subscriberReceivesOnlyTicketsOfItsTechnician() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/tickets/stream")
+                        .param("tecnicoId", tecnico.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer "
+                                + jwtUtil.generateToken(userDetailsService.loadUserByUsername("tech1@uca.edu.sv"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Long ajeno = ticketService.createTicket(ticket("Proyector", "tech2@uca.edu.sv")).getIdTicket();
+        Long propio = ticketService.createTicket(ticket("Impresora", "tech1@uca.edu.sv")).getIdTicket();
+
+        // Los eventos se entregan en orden, así que cuando llega el propio el ajeno ya habría llegado
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> stream.getResponse().getContentAsString().contains("id:" + propio));
+        String contenido = stream.getResponse().getContentAsString();
+        assertTrue(contenido.contains("event:created"));
+        assertFalse(contenido.contains("id:" + ajeno + "\n"));
+    }
+
+    // Un cliente que ya cerró la conexión se descarta en el siguiente envío
+    @Test
+    void closedSubscriberIsRemoved() {
+        double antes = subscribers();
+        SseEmitter emitter = ticketFeedService.subscribe(null);
+        assertEquals(antes + 1, subscribers());
+
+        emitter.complete();
+        ticketService.createTicket(ticket("Impresora", "tech1@uca.edu.sv"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscribers() == antes);
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("tickets.feed.subscribers").gauge().value();
+    }
+
+    private static TicketCreateRequest ticket(String titulo, String correoSoporte) {
+        TicketCreateRequest request = new TicketCreateRequest();
+        request.setTitulo(titulo);
+        request.setDescripcion("Descripción " + titulo);
+        request.setCorreoUsuario("user@uca.edu.sv");
+        request.setCorreoSoporte(correoSoporte);
+        return request;
+    }
+}
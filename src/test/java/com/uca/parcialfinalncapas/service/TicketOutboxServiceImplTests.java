@@ -0,0 +1,195 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketNotification;
+import com.uca.parcialfinalncapas.entities.TicketOutbox;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketOutboxRepository;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.service.notification.NotificationSink;
+import com.uca.parcialfinalncapas.support.PostgresIntegrationTest;
+import com.uca.parcialfinalncapas.utils.enums.NotificationType;
+import com.uca.parcialfinalncapas.utils.enums.OutboxStatus;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// FOR UPDATE SKIP LOCKED solo se puede comprobar sobre PostgreSQL. El despacho programado se aleja
+// para que solo corra cuando la prueba lo llama
+@TestPropertySource(properties = {
+        "tickets.outbox.poll-interval=PT1H",
+        "tickets.outbox.max-attempts=2",
+        "tickets.outbox.initial-backoff=PT10S"
+})
+class TicketOutboxServiceImplTests extends PostgresIntegrationTest {
+
+    @MockitoBean
+    private NotificationSink notificationSink;
+
+    @Autowired
+    private TicketOutboxService ticketOutboxService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketOutboxRepository outboxRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void committedTicketIsDeliveredOnce() throws IOException {
+        Long ticketId = ticketService.createTicket(ticket("Impresora")).getIdTicket();
+
+        assertEquals(1, ticketOutboxService.dispatchPending());
+        assertEquals(0, ticketOutboxService.dispatchPending());
+
+        ArgumentCaptor<TicketNotification> enviada = ArgumentCaptor.forClass(TicketNotification.class);
+        verify(notificationSink, times(1)).send(enviada.capture());
+        assertEquals(NotificationType.TICKET_CREATED, enviada.getValue().getTipo());
+        assertEquals("tech@uca.edu.sv", enviada.getValue().getCorreoSoporte());
+        assertEquals(ticketId, enviada.getValue().getTicket().getIdTicket());
+        assertEquals(OutboxStatus.SENT, soloEntrada().getEstado());
+    }
+
+    @Test
+    void rolledBackTicketLeavesNoNotification() throws IOException {
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketService.createTicket(ticket("Impresora"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, ticketOutboxService.dispatchPending());
+        verify(notificationSink, never()).send(any());
+    }
+
+    @Test
+    void failedDeliveryBacksOffUntilMaxAttempts() throws IOException {
+        doThrow(new IOException("Destino no disponible")).when(notificationSink).send(any());
+        ticketService.createTicket(ticket("Impresora"));
+
+        LocalDateTime antes = LocalDateTime.now();
+        assertEquals(1, ticketOutboxService.dispatchPending());
+        TicketOutbox reintento = soloEntrada();
+        assertEquals(OutboxStatus.PENDING, reintento.getEstado());
+        assertEquals(1, reintento.getIntentos());
+        assertEquals("Destino no disponible", reintento.getError());
+        assertFalse(reintento.getProximoIntento().isBefore(antes.plus(Duration.ofSeconds(10))));
+
+        // Todavía no cumplió su espera
+        assertEquals(0, ticketOutboxService.dispatchPending());
+
+        reintento.setProximoIntento(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(reintento);
+        assertEquals(1, ticketOutboxService.dispatchPending());
+        TicketOutbox descartada = soloEntrada();
+        assertEquals(OutboxStatus.FAILED, descartada.getEstado());
+        assertEquals(2, descartada.getIntentos());
+        verify(notificationSink, times(2)).send(any());
+    }
+
+    // Mientras una instancia tiene el lote reclamado, otra no toma las mismas filas ni se queda esperando
+    @Test
+    void claimedRowsAreSkippedByConcurrentDispatchers() throws Exception {
+        ticketService.createTicket(ticket("Impresora"));
+        ticketService.createTicket(ticket("Proyector"));
+
+        CountDownLatch reclamado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Integer> primero = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            int filas = claim(1).size();
+            reclamado.countDown();
+            await(liberar);
+            return filas;
+        }));
+        try {
+            reclamado.await();
+            List<TicketOutbox> segundo = transactionTemplate.execute(status -> claim(10));
+
+            assertEquals(1, segundo.size());
+            assertTrue(segundo.getFirst().getPayload().contains("Proyector"));
+        } finally {
+            liberar.countDown();
+        }
+        assertEquals(1, primero.join());
+    }
+
+    private List<TicketOutbox> claim(int limit) {
+        return outboxRepository.claimBatch(OutboxStatus.PENDING, LocalDateTime.now(), Limit.of(limit));
+    }
+
+    private TicketOutbox soloEntrada() {
+        List<TicketOutbox> entradas = outboxRepository.findAll();
+        assertEquals(1, entradas.size());
+        return entradas.getFirst();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TicketCreateRequest ticket(String titulo) {
+        TicketCreateRequest request = new TicketCreateRequest();
+        request.setTitulo(titulo);
+        request.setDescripcion("Descripción " + titulo);
+        request.setCorreoUsuario("user@uca.edu.sv");
+        request.setCorreoSoporte("tech@uca.edu.sv");
+        return request;
+    }
+}
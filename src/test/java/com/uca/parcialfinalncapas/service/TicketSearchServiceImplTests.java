@@ -0,0 +1,106 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponseList;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.support.PostgresIntegrationTest;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// ts_rank solo existe en PostgreSQL, por eso la paginación de la búsqueda se prueba sobre la base real
+class TicketSearchServiceImplTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<Long> esperados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User usuario = userRepository.save(User.builder().nombre("Usuario").correo("user@uca.edu.sv")
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        User tecnico = userRepository.save(User.builder().nombre("Tecnico").correo("tech@uca.edu.sv")
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+
+        // Dos grupos de relevancia: el término en el título (peso A) y solo en la descripción (peso B),
+        // con varios tickets empatados en cada grupo para que el ID decida el orden dentro del grupo
+        List<Long> enTitulo = new ArrayList<>();
+        List<Long> enDescripcion = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            enTitulo.add(guardar("Impresora sin tóner " + i, "Reportado en la oficina", usuario, tecnico));
+            enDescripcion.add(guardar("Equipo de oficina " + i, "La impresora no responde", usuario, tecnico));
+            guardar("Monitor " + i, "La pantalla parpadea", usuario, tecnico);
+        }
+        esperados.addAll(enTitulo.reversed());
+        esperados.addAll(enDescripcion.reversed());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void searchPagesByRankAndIdWithoutRepeatsOrGaps() {
+        List<Long> encontrados = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            TicketPageResponse page = ticketSearchService.search("impresora", cursor, 3);
+            page.getTickets().stream().map(TicketResponseList::getIdTicket).forEach(encontrados::add);
+            cursor = page.getNextCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Las páginas cortan dentro de los grupos empatados y entre ellos
+        assertEquals(esperados, encontrados);
+        assertEquals(4, paginas);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        TicketPageResponse page = ticketSearchService.search("impresora", null, esperados.size());
+
+        assertEquals(esperados.size(), page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchRejectsInvalidCursor() {
+        assertThrows(BadTicketRequestException.class, () -> ticketSearchService.search("impresora", "no-es-un-cursor", 3));
+    }
+
+    private Long guardar(String titulo, String descripcion, User usuario, User tecnico) {
+        return ticketRepository.save(Ticket.builder().titulo(titulo).descripcion(descripcion)
+                .estado(State.OPEN.getDescription()).usuarioId(usuario.getId()).tecnicoAsignadoId(tecnico.getId())
+                .fecha(LocalDateTime.now()).build()).getId();
+    }
+}
@@ -0,0 +1,175 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketPageResponse;
+import com.uca.parcialfinalncapas.dto.response.TicketResponse;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.exceptions.BadTicketRequestException;
+import com.uca.parcialfinalncapas.exceptions.PreconditionFailedException;
+import com.uca.parcialfinalncapas.support.QueryBudget;
+import com.uca.parcialfinalncapas.support.TicketFixtureTest;
+import com.uca.parcialfinalncapas.utils.enums.ExportFormat;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketServiceImplTests extends TicketFixtureTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        ticketId = ticketService.createTicket(request("Impresora")).getIdTicket();
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getTicketByIdUsesSingleStatement() {
+        TicketResponse ticket = ticketService.getTicketById(ticketId);
+
+        assertEquals("user@uca.edu.sv", ticket.getCorreoSolicitante());
+        assertEquals("tech@uca.edu.sv", ticket.getCorreoSoporte());
+    }
+
+    // ticket + solicitante y el UPDATE; el técnico ya está en la caché de usuarios
+    @Test
+    @QueryBudget(2)
+    void updateTicketReadsTicketAndRequesterTogether() {
+        TicketResponse ticket = ticketService.updateTicket(TicketUpdateRequest.builder()
+                .id(ticketId)
+                .estado(State.IN_PROGRESS.name())
+                .correoSoporte("tech@uca.edu.sv")
+                .build(), null);
+
+        assertEquals(State.IN_PROGRESS.getDescription(), ticket.getEstado());
+        assertEquals("user@uca.edu.sv", ticket.getCorreoSolicitante());
+    }
+
+    // INSERT del ticket y de su fila en el outbox; los dos usuarios salen de la caché
+    @Test
+    @QueryBudget(2)
+    void createTicketResolvesUsersFromCache() {
+        TicketResponse ticket = ticketService.createTicket(request("Proyector"));
+
+        assertEquals("tech@uca.edu.sv", ticket.getCorreoSoporte());
+    }
+
+    // Tres tickets comparten fecha: el ID desempata y ninguno se repite ni se pierde entre páginas
+    @Test
+    void getTicketsPagesByFechaThenIdDescending() {
+        ticketRepository.deleteAll();
+        Long usuarioId = usuario.getId();
+        Long tecnicoId = tecnico.getId();
+        LocalDateTime base = LocalDateTime.of(2025, 5, 1, 8, 0);
+        ticketRepository.saveAll(List.of(
+                ticket("A", base.plusHours(2), usuarioId, tecnicoId),
+                ticket("B", base, usuarioId, tecnicoId),
+                ticket("C", base.plusHours(1), usuarioId, tecnicoId),
+                ticket("D", base.plusHours(1), usuarioId, tecnicoId),
+                ticket("E", base.plusHours(1), usuarioId, tecnicoId)));
+
+        List<String> titulos = new ArrayList<>();
+        String cursor = null;
+        do {
+            TicketPageResponse page = ticketService.getTickets(cursor, 2, null, usuarioId, null);
+            page.getTickets().forEach(ticket -> titulos.add(ticket.getTitulo()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // C, D y E comparten fecha y reciben IDs crecientes: se devuelven del mayor al menor
+        assertEquals(List.of("A", "E", "D", "C", "B"), titulos);
+    }
+
+    @Test
+    void getTicketsAppliesOnlyPresentFilters() {
+        TicketPageResponse abiertos = ticketService.getTickets(null, 10, State.OPEN.name(), null, null);
+        TicketPageResponse cerrados = ticketService.getTickets(null, 10, State.CLOSED.name(), null, null);
+
+        assertEquals(1, abiertos.getSize());
+        assertEquals(0, cerrados.getSize());
+    }
+
+    @Test
+    void getTicketsRejectsMalformedCursor() {
+        assertThrows(BadTicketRequestException.class, () -> ticketService.getTickets("no-es-un-cursor", 10, null, null, null));
+    }
+
+    // Dos escrituras leyeron la misma versión: la segunda en confirmarse falla y el controlador responde 409
+    @Test
+    void staleWriteFailsOnVersionCheck() {
+        Ticket primera = ticketRepository.findById(ticketId).orElseThrow();
+        Ticket segunda = ticketRepository.findById(ticketId).orElseThrow();
+        primera.setDescripcion("Primera");
+        ticketRepository.save(primera);
+        segunda.setDescripcion("Segunda");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> ticketRepository.save(segunda));
+        assertEquals("Primera", ticketRepository.findById(ticketId).orElseThrow().getDescripcion());
+    }
+
+    @Test
+    void updateTicketWithStaleVersionIsPreconditionFailed() {
+        TicketUpdateRequest request = TicketUpdateRequest.builder()
+                .id(ticketId)
+                .estado(State.IN_PROGRESS.name())
+                .correoSoporte("tech@uca.edu.sv")
+                .build();
+        ticketService.updateTicket(request, 0L);
+
+        assertThrows(PreconditionFailedException.class, () -> ticketService.updateTicket(request, 0L));
+    }
+
+    @Test
+    void exportTicketsWritesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ticketService.exportTickets(ExportFormat.NDJSON, out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lineas.length);
+        JsonNode ticket = objectMapper.readTree(lineas[0]);
+        assertEquals(ticketId, ticket.get("idTicket").asLong());
+        assertEquals("Impresora", ticket.get("titulo").asText());
+    }
+
+    @Test
+    void exportTicketsEscapesCsvFields() throws Exception {
+        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+        ticket.setDescripcion("Dice \"error 5\", luego se apaga");
+        ticketRepository.save(ticket);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ticketService.exportTickets(ExportFormat.CSV, out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[1].startsWith(ticketId + ",Impresora,\"Dice \"\"error 5\"\", luego se apaga\","));
+    }
+
+    @Test
+    void exportRejectsUnsupportedFormat() {
+        assertThrows(BadTicketRequestException.class, () -> ExportFormat.from("xml"));
+    }
+
+    private static Ticket ticket(String titulo, LocalDateTime fecha, Long usuarioId, Long tecnicoId) {
+        return Ticket.builder().titulo(titulo).descripcion("Descripción " + titulo).estado(State.OPEN.getDescription())
+                .usuarioId(usuarioId).tecnicoAsignadoId(tecnicoId).fecha(fecha).build();
+    }
+}
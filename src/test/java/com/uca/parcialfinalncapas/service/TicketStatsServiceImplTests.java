@@ -0,0 +1,82 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.uca.parcialfinalncapas.dto.request.TicketUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.TicketStatsResponse;
+import com.uca.parcialfinalncapas.entities.Ticket;
+import com.uca.parcialfinalncapas.support.TicketFixtureTest;
+import com.uca.parcialfinalncapas.utils.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TicketStatsServiceImplTests extends TicketFixtureTest {
+
+    @Autowired
+    private TicketStatsService ticketStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Los contadores viven en el contexto compartido: se parte de la base vacía de esta prueba
+        ticketStatsService.reconcile();
+    }
+
+    @Test
+    void countersFollowCommittedChanges() {
+        Long ticketId = ticketService.createTicket(request("Impresora")).getIdTicket();
+        ticketService.createTicket(request("Proyector"));
+
+        TicketStatsResponse creados = ticketStatsService.getStats();
+        assertEquals(2, creados.getTotal());
+        assertEquals(Map.of(State.OPEN.getDescription(), 2L), creados.getPorEstado());
+        assertEquals(Map.of(tecnico.getId().toString(), 2L), creados.getPorTecnico());
+        assertEquals(Map.of(usuario.getId().toString(), 2L), creados.getPorSolicitante());
+
+        ticketService.updateTicket(TicketUpdateRequest.builder()
+                .id(ticketId)
+                .estado(State.IN_PROGRESS.name())
+                .correoSoporte("tech@uca.edu.sv")
+                .build(), null);
+        assertEquals(Map.of(State.OPEN.getDescription(), 1L, State.IN_PROGRESS.getDescription(), 1L),
+                ticketStatsService.getStats().getPorEstado());
+
+        ticketService.deleteTicket(ticketId);
+        TicketStatsResponse eliminado = ticketStatsService.getStats();
+        assertEquals(1, eliminado.getTotal());
+        assertEquals(Map.of(State.OPEN.getDescription(), 1L), eliminado.getPorEstado());
+    }
+
+    @Test
+    void rolledBackChangesAreNotCounted() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketService.createTicket(request("Impresora"));
+            status.setRollbackOnly();
+        });
+
+        TicketStatsResponse stats = ticketStatsService.getStats();
+        assertEquals(0, stats.getTotal());
+        assertEquals(Map.of(), stats.getPorEstado());
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        // Escritura directa al repositorio: no publica TicketChangedEvent y los contadores se desvían
+        ticketRepository.save(Ticket.builder().titulo("Monitor").descripcion("Parpadea").estado(State.CLOSED.getDescription())
+                .usuarioId(usuario.getId()).tecnicoAsignadoId(tecnico.getId()).fecha(LocalDateTime.now()).build());
+        assertEquals(0, ticketStatsService.getStats().getTotal());
+
+        ticketStatsService.reconcile();
+
+        TicketStatsResponse stats = ticketStatsService.getStats();
+        assertEquals(1, stats.getTotal());
+        assertEquals(Map.of(State.CLOSED.getDescription(), 1L), stats.getPorEstado());
+    }
+}
@@ -0,0 +1,112 @@
+package com.uca.parcialfinalncapas.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.parcialfinalncapas.config.CacheConfig;
+import com.uca.parcialfinalncapas.dto.request.UserUpdateRequest;
+import com.uca.parcialfinalncapas.dto.response.UserResponse;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.repository.projection.UserSnapshot;
+import com.uca.parcialfinalncapas.support.QueryBudget;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserServiceImplTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAll(IntStream.rangeClosed(1, 1001)
+                .mapToObj(i -> User.builder().nombre("Usuario " + i).correo("user" + i + "@uca.edu.sv")
+                        .password("user").nombreRol(Rol.USER.getValue()).build())
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    // Dos páginas completas de 500 y una tercera con el usuario restante, cada una en una consulta
+    @Test
+    @QueryBudget(3)
+    void writeAllWritesEveryPage() throws IOException {
+        List<UserResponse> users = writeAll();
+
+        assertEquals(1001, users.size());
+        assertEquals("user1@uca.edu.sv", users.get(0).getCorreo());
+        assertEquals("user1001@uca.edu.sv", users.get(1000).getCorreo());
+    }
+
+    // Otra solicitud lee al usuario mientras la actualización sigue abierta y guarda en la caché la fila anterior:
+    // la invalidación ocurre al confirmar, así que esa entrada no sobrevive al commit
+    @Test
+    void updateEvictsCacheAfterCommit() {
+        User usuario = userRepository.findByCorreo("user1@uca.edu.sv").orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.update(UserUpdateRequest.builder().id(usuario.getId()).nombre("Renombrado")
+                    .password("user").nombreRol(Rol.USER.getValue()).build());
+            CompletableFuture.runAsync(() -> userRepository.findSnapshotById(usuario.getId())).join();
+            var entrada = cacheManager.getCache(CacheConfig.USERS_BY_ID).get(usuario.getId());
+            assertNotNull(entrada);
+            assertInstanceOf(UserSnapshot.class, entrada.get());
+        });
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS_BY_ID).get(usuario.getId()));
+    }
+
+    @Test
+    void writeAllWithoutUsersIsEmpty() throws IOException {
+        userRepository.deleteAll();
+
+        assertFalse(userService.hasUsers());
+        assertTrue(writeAll().isEmpty());
+    }
+
+    private List<UserResponse> writeAll() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(salida)) {
+            userService.writeAll(generator);
+        }
+        return objectMapper.readValue(salida.toByteArray(), new TypeReference<>() {
+        });
+    }
+}
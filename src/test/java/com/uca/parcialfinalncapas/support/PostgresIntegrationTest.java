@@ -0,0 +1,60 @@
+package com.uca.parcialfinalncapas.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base de las pruebas que necesitan PostgreSQL real: el esquema lo crean las migraciones de Flyway
+ * y Hibernate solo lo valida, igual que en producción. Todas las subclases comparten el mismo servidor
+ * embebido y el mismo contexto de Spring, así que cada prueba limpia los datos que crea.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "tickets.search.engine=postgres"
+})
+@AutoConfigureMockMvc
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /** DataSource de otra base del mismo servidor, para pruebas que migran un esquema propio. */
+    protected static DataSource database(String name) {
+        return POSTGRES.getDatabase("postgres", name);
+    }
+
+    /** DataSource administrativo del servidor embebido, por ejemplo para crear bases con CREATE DATABASE. */
+    protected static DataSource postgresDatabase() {
+        return POSTGRES.getPostgresDatabase();
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // El proceso termina de todos modos
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo iniciar PostgreSQL embebido", e);
+        }
+    }
+}
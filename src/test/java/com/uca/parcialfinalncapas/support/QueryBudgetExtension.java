@@ -0,0 +1,48 @@
+package com.uca.parcialfinalncapas.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Hace fallar la prueba cuando ejecuta más sentencias que las declaradas en @QueryBudget.
+ * Cuenta en el hilo de la prueba con el DataSource envuelto por QueryCountConfig.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        // Sin el proxy la cuenta sería siempre cero y cualquier presupuesto pasaría
+        assertInstanceOf(ProxyDataSource.class, SpringExtension.getApplicationContext(context).getBean(DataSource.class),
+                "@QueryBudget requiere tickets.query-count.enabled=true");
+        QueryCountHolder.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCount count = QueryCountHolder.getGrandTotal();
+        QueryCountHolder.clear();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        int budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow()
+                .value();
+        if (count.getTotal() > budget) {
+            fail(String.format("%s ejecutó %d sentencias y el presupuesto es %d (select=%d, insert=%d, update=%d, delete=%d, other=%d)",
+                    context.getDisplayName(), count.getTotal(), budget, count.getSelect(), count.getInsert(),
+                    count.getUpdate(), count.getDelete(), count.getOther()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.uca.parcialfinalncapas.support;
+
+import com.uca.parcialfinalncapas.dto.request.TicketCreateRequest;
+import com.uca.parcialfinalncapas.entities.User;
+import com.uca.parcialfinalncapas.repository.TicketRepository;
+import com.uca.parcialfinalncapas.repository.UserRepository;
+import com.uca.parcialfinalncapas.service.TechnicianWorkloadService;
+import com.uca.parcialfinalncapas.service.TicketService;
+import com.uca.parcialfinalncapas.utils.enums.Rol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Base de las pruebas de los servicios de tickets sobre H2: antes de cada prueba crea un solicitante
+ * (user@uca.edu.sv) y un técnico (tech@uca.edu.sv), y después borra tickets y usuarios y vacía las cachés.
+ * El @BeforeEach de la subclase corre después de este, así que puede usar los dos usuarios.
+ */
+@SpringBootTest
+public abstract class TicketFixtureTest {
+
+    protected static final String CORREO_USUARIO = "user@uca.edu.sv";
+    protected static final String CORREO_TECNICO = "tech@uca.edu.sv";
+
+    @Autowired
+    protected TicketService ticketService;
+
+    @Autowired
+    protected TicketRepository ticketRepository;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    protected TechnicianWorkloadService technicianWorkloadService;
+
+    protected User usuario;
+
+    protected User tecnico;
+
+    @BeforeEach
+    protected void crearUsuarios() {
+        usuario = userRepository.save(User.builder().nombre("Usuario").correo(CORREO_USUARIO)
+                .password("user").nombreRol(Rol.USER.getValue()).build());
+        tecnico = userRepository.save(User.builder().nombre("Tecnico").correo(CORREO_TECNICO)
+                .password("tech").nombreRol(Rol.TECH.getValue()).build());
+    }
+
+    @AfterEach
+    protected void limpiar() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        // La carga de los técnicos vive en el contexto compartido: se recalcula sin los usuarios borrados
+        technicianWorkloadService.reload();
+    }
+
+    /** Ticket del solicitante asignado al técnico de la base. */
+    protected static TicketCreateRequest request(String titulo) {
+        TicketCreateRequest request = new TicketCreateRequest();
+        request.setTitulo(titulo);
+        request.setDescripcion("Descripción " + titulo);
+        request.setCorreoUsuario(CORREO_USUARIO);
+        request.setCorreoSoporte(CORREO_TECNICO);
+        return request;
+    }
+}